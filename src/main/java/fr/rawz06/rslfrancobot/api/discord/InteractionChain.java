@@ -0,0 +1,85 @@
+package fr.rawz06.rslfrancobot.api.discord;
+
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Chains the Discord calls made on a deferred interaction without blocking.
+ * defer() only sends the acknowledgment; each following call is sent once the
+ * hook is available and the previous call has finished, so edits are applied in
+ * the order they were made, even when they come from different threads.
+ * A failed call is logged and does not prevent the next ones, except a failed
+ * acknowledgment: the following calls then fail with its error without being sent.
+ */
+class InteractionChain {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionChain.class);
+
+    private CompletableFuture<InteractionHook> hook;
+    private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+
+    /**
+     * Sends the acknowledgment. The returned future fails if Discord refused it
+     * (e.g. the interaction expired before it was acknowledged).
+     */
+    synchronized CompletableFuture<Void> defer(RestAction<InteractionHook> deferAction) {
+        hook = deferAction.submit()
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(
+                        new DeferFailedException(unwrap(error))));
+        tail = hook;
+        return hook.<Void>thenApply(ignored -> null)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        logger.warn("{}, its replies will not be sent", unwrap(error).getMessage());
+                    }
+                });
+    }
+
+    synchronized boolean isDeferred() {
+        return hook != null;
+    }
+
+    /**
+     * Sends the action built from the hook after the previous calls of this interaction.
+     */
+    synchronized CompletableFuture<Void> then(String description, Function<InteractionHook, RestAction<?>> action) {
+        CompletableFuture<InteractionHook> deferred = hook;
+        CompletableFuture<Void> step = tail
+                .handle((result, error) -> null)
+                .thenCompose(ignored -> deferred)
+                .thenCompose(deferredHook -> action.apply(deferredHook).submit())
+                .<Void>thenApply(ignored -> null)
+                .whenComplete((ignored, error) -> {
+                    if (error == null) {
+                        return;
+                    }
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof DeferFailedException) {
+                        logger.warn("Discord call skipped ({}): the interaction was not acknowledged", description);
+                    } else {
+                        logger.warn("Discord call failed ({}): {}", description, cause.getMessage());
+                    }
+                });
+        tail = step;
+        return step;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Failure of the acknowledgment, given to the calls chained after it.
+     */
+    static class DeferFailedException extends RuntimeException {
+        DeferFailedException(Throwable cause) {
+            super("Interaction could not be acknowledged: " + cause.getMessage(), cause);
+        }
+    }
+}
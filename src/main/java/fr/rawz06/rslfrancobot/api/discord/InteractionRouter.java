@@ -0,0 +1,157 @@
+package fr.rawz06.rslfrancobot.api.discord;
+
+import fr.rawz06.rslfrancobot.bot.handlers.InteractionRoute;
+import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Routes Discord interactions to the handler methods annotated with {@link InteractionRoute}.
+ * Routes are compiled once all beans are created: exact ids in a hash map, prefixes in a
+ * hash map per prefix length, so a lookup costs a few hash lookups whatever the number of modes.
+ */
+@Component
+public class InteractionRouter implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionRouter.class);
+
+    private final ListableBeanFactory beanFactory;
+    private volatile Map<InteractionRoute.Type, Routes> routes = Map.of();
+
+    public InteractionRouter(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * Handler method bound to its bean.
+     */
+    public record Route(String name, Object bean, Method method) {
+
+        public void handle(DiscordInteraction interaction) {
+            try {
+                method.invoke(bean, interaction);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Handler " + name + " failed", e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Handler " + name + " is not accessible", e);
+            }
+        }
+    }
+
+    /**
+     * Handler serving this command, button or menu id, if any.
+     */
+    public Optional<Route> find(InteractionRoute.Type type, String id) {
+        Routes typeRoutes = routes.get(type);
+        return typeRoutes == null ? Optional.empty() : Optional.ofNullable(typeRoutes.find(id));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<InteractionRoute.Type, RoutesBuilder> builders = new EnumMap<>(InteractionRoute.Type.class);
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType == null || !beanFactory.isSingleton(beanName)) {
+                continue;
+            }
+            Class<?> handlerClass = ClassUtils.getUserClass(beanType);
+            Map<Method, InteractionRoute> annotated = MethodIntrospector.selectMethods(handlerClass,
+                    (MethodIntrospector.MetadataLookup<InteractionRoute>) method ->
+                            AnnotatedElementUtils.findMergedAnnotation(method, InteractionRoute.class));
+            if (annotated.isEmpty()) {
+                continue;
+            }
+
+            Object bean = beanFactory.getBean(beanName);
+            annotated.forEach((method, route) -> {
+                String name = handlerClass.getSimpleName() + "." + method.getName();
+                if (method.getParameterCount() != 1 || method.getParameterTypes()[0] != DiscordInteraction.class) {
+                    throw new IllegalStateException("Interaction handler " + name + " must take a single DiscordInteraction");
+                }
+                Method invocable = AopUtils.selectInvocableMethod(method, bean.getClass());
+                Route handler = new Route(name, bean, invocable);
+                RoutesBuilder builder = builders.computeIfAbsent(route.type(), type -> new RoutesBuilder());
+                for (String id : route.ids()) {
+                    builder.add(builder.exact, id, handler, route.type());
+                }
+                for (String prefix : route.prefixes()) {
+                    builder.add(builder.prefixes, prefix, handler, route.type());
+                }
+            });
+        }
+
+        Map<InteractionRoute.Type, Routes> compiled = new EnumMap<>(InteractionRoute.Type.class);
+        builders.forEach((type, builder) -> compiled.put(type, builder.build()));
+        routes = compiled;
+        logger.info("Interaction routes: {}", compiled);
+    }
+
+    /**
+     * Compiled routes of one interaction type.
+     */
+    private record Routes(Map<String, Route> exact, Map<String, Route> prefixes, int[] prefixLengths) {
+
+        Route find(String id) {
+            Route route = exact.get(id);
+            if (route != null) {
+                return route;
+            }
+            // Longest prefix first
+            for (int length : prefixLengths) {
+                if (length <= id.length()) {
+                    route = prefixes.get(id.substring(0, length));
+                    if (route != null) {
+                        return route;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return exact.size() + " ids, " + prefixes.size() + " prefixes";
+        }
+    }
+
+    private static final class RoutesBuilder {
+        private final Map<String, Route> exact = new HashMap<>();
+        private final Map<String, Route> prefixes = new HashMap<>();
+
+        void add(Map<String, Route> target, String key, Route route, InteractionRoute.Type type) {
+            Route previous = target.putIfAbsent(key, route);
+            if (previous != null) {
+                throw new IllegalStateException("Interaction " + type + " '" + key + "' is served by both "
+                        + previous.name() + " and " + route.name());
+            }
+        }
+
+        Routes build() {
+            TreeSet<Integer> lengths = new TreeSet<>();
+            prefixes.keySet().forEach(prefix -> lengths.add(prefix.length()));
+            int[] prefixLengths = lengths.descendingSet().stream().mapToInt(Integer::intValue).toArray();
+            return new Routes(Map.copyOf(exact), Map.copyOf(prefixes), prefixLengths);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package fr.rawz06.rslfrancobot.api.discord;
+
+import fr.rawz06.rslfrancobot.config.InteractionSessionProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User data shared by the interactions of one menu, e.g. the Franco selections
+ * made across several select menus before validating.
+ * A session is identified by a scope (user + menu message) and is dropped once idle
+ * for longer than the TTL, or when the store is full and it is the least recently used.
+ */
+@Component
+public class InteractionSessionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionSessionStore.class);
+
+    private final InteractionSessionProperties properties;
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "interaction-sessions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Access order: the first entries are the least recently used, so the idle ones come first
+    private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+            if (size() > Math.max(1, properties.getMaxSessions())) {
+                evicted++;
+                return true;
+            }
+            return false;
+        }
+    };
+    private int peakSessions;
+    private long created;
+    private long expired;
+    private long evicted;
+
+    public InteractionSessionStore(InteractionSessionProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Store state, for logs and diagnostics.
+     */
+    public record Stats(int sessions, int peakSessions, long created, long expired, long evicted) { }
+
+    private static final class Session {
+        private final Map<String, Object> data = new ConcurrentHashMap<>();
+        private long lastAccess;
+    }
+
+    @PostConstruct
+    public void startCleanup() {
+        long interval = properties.getCleanupInterval().toMillis();
+        cleaner.scheduleWithFixedDelay(this::removeIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Data of the session, empty if there is none.
+     */
+    public Map<String, Object> get(String scope) {
+        Session session = touch(scope, false);
+        return session == null ? Map.of() : session.data;
+    }
+
+    /**
+     * Data of the session, created if needed. The map can be written to.
+     */
+    public Map<String, Object> getOrCreate(String scope) {
+        return touch(scope, true).data;
+    }
+
+    public synchronized void remove(String scope) {
+        sessions.remove(scope);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(sessions.size(), peakSessions, created, expired, evicted);
+    }
+
+    private synchronized Session touch(String scope, boolean create) {
+        long now = System.nanoTime();
+        Session session = sessions.get(scope);
+        if (session != null && isIdle(session, now)) {
+            sessions.remove(scope);
+            expired++;
+            session = null;
+        }
+        if (session == null) {
+            if (!create) {
+                return null;
+            }
+            session = new Session();
+            sessions.put(scope, session);
+            created++;
+            peakSessions = Math.max(peakSessions, sessions.size());
+        }
+        session.lastAccess = now;
+        return session;
+    }
+
+    private boolean isIdle(Session session, long now) {
+        return now - session.lastAccess > properties.getIdleTtl().toNanos();
+    }
+
+    private void removeIdle() {
+        int removed = 0;
+        Stats stats;
+        synchronized (this) {
+            long now = System.nanoTime();
+            Iterator<Session> iterator = sessions.values().iterator();
+            while (iterator.hasNext() && isIdle(iterator.next(), now)) {
+                iterator.remove();
+                removed++;
+            }
+            expired += removed;
+            stats = stats();
+        }
+        if (removed > 0) {
+            logger.debug("Dropped {} idle interaction sessions ({})", removed, stats);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+}
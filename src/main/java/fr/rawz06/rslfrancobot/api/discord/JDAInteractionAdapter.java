@@ -4,6 +4,7 @@ import fr.rawz06.rslfrancobot.bot.models.DiscordButton;
 import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
 import fr.rawz06.rslfrancobot.bot.models.DiscordMessage;
 import fr.rawz06.rslfrancobot.bot.models.DiscordSelectMenu;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
 import net.dv8tion.jda.api.interactions.InteractionHook;
@@ -11,10 +12,11 @@ import net.dv8tion.jda.api.components.actionrow.ActionRow;
 import net.dv8tion.jda.api.components.buttons.Button;
 import net.dv8tion.jda.api.components.buttons.ButtonStyle;
 import net.dv8tion.jda.api.components.selections.StringSelectMenu;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageEditAction;
 import net.dv8tion.jda.api.utils.FileUpload;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * JDA adapter for Discord interactions.
@@ -26,41 +28,53 @@ public class JDAInteractionAdapter implements DiscordInteraction {
     private final String userId;
     private final String username;
     private final String channelId;
+    private final String guildId;
     private final String customId;
     private final List<String> selectedValues;
 
-    // Temporary user data storage (by userId)
-    private static final Map<String, Map<String, Object>> userDataStore = new ConcurrentHashMap<>();
+    // User data is shared by the components of the same message (one Franco menu)
+    private final InteractionSessionStore sessions;
+    private final String sessionScope;
 
-    private JDAInteractionAdapter(Object event, String userId, String username, String channelId,
-                                   String customId, List<String> selectedValues) {
+    private JDAInteractionAdapter(Object event, String userId, String username, String channelId, String guildId,
+                                   String customId, List<String> selectedValues,
+                                   InteractionSessionStore sessions, String messageId) {
         this.event = event;
         this.userId = userId;
         this.username = username;
         this.channelId = channelId;
+        this.guildId = guildId;
         this.customId = customId;
         this.selectedValues = selectedValues;
+        this.sessions = sessions;
+        this.sessionScope = userId + ":" + messageId;
     }
 
-    public static JDAInteractionAdapter fromButtonEvent(ButtonInteractionEvent event) {
+    public static JDAInteractionAdapter fromButtonEvent(ButtonInteractionEvent event, InteractionSessionStore sessions) {
         return new JDAInteractionAdapter(
                 event,
                 event.getUser().getId(),
                 event.getUser().getName(),
                 event.getChannel().getId(),
+                event.getGuild() != null ? event.getGuild().getId() : null,
                 event.getComponentId(),
-                List.of()
+                List.of(),
+                sessions,
+                event.getMessageId()
         );
     }
 
-    public static JDAInteractionAdapter fromSelectMenuEvent(StringSelectInteractionEvent event) {
+    public static JDAInteractionAdapter fromSelectMenuEvent(StringSelectInteractionEvent event, InteractionSessionStore sessions) {
         return new JDAInteractionAdapter(
                 event,
                 event.getUser().getId(),
                 event.getUser().getName(),
                 event.getChannel().getId(),
+                event.getGuild() != null ? event.getGuild().getId() : null,
                 event.getComponentId(),
-                event.getValues()
+                event.getValues(),
+                sessions,
+                event.getMessageId()
         );
     }
 
@@ -79,6 +93,11 @@ public class JDAInteractionAdapter implements DiscordInteraction {
         return channelId;
     }
 
+    @Override
+    public String getGuildId() {
+        return guildId;
+    }
+
     @Override
     public List<String> getSelectedValues() {
         return selectedValues;
@@ -102,34 +121,34 @@ public class JDAInteractionAdapter implements DiscordInteraction {
     public void deferAndReply(DiscordMessage message) {
         if (event instanceof ButtonInteractionEvent buttonEvent) {
             buttonEvent.deferReply().queue(hook ->
-                sendEditedMessage(hook, message)
+                editMessage(hook, message).queue()
             );
         } else if (event instanceof StringSelectInteractionEvent selectEvent) {
             selectEvent.deferReply().queue(hook ->
-                sendEditedMessage(hook, message)
+                editMessage(hook, message).queue()
             );
         }
     }
 
-    private InteractionHook deferredHook;
+    private final InteractionChain chain = new InteractionChain();
 
     @Override
-    public void defer() {
-        // Block until defer is completed (synchronous)
+    public CompletableFuture<Void> defer() {
+        // Does not wait for Discord: edits are chained on the acknowledgment
         if (event instanceof ButtonInteractionEvent buttonEvent) {
-            this.deferredHook = buttonEvent.deferReply().complete();
+            return chain.defer(buttonEvent.deferReply());
         } else if (event instanceof StringSelectInteractionEvent selectEvent) {
-            this.deferredHook = selectEvent.deferReply().complete();
+            return chain.defer(selectEvent.deferReply());
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
-    public void editDeferredReply(DiscordMessage message) {
-        if (deferredHook != null) {
-            sendEditedMessage(deferredHook, message);
-        } else {
+    public CompletableFuture<Void> editDeferredReply(DiscordMessage message) {
+        if (!chain.isDeferred()) {
             throw new IllegalStateException("No deferred reply to edit. Call defer() first.");
         }
+        return chain.then("edit deferred reply", hook -> editMessage(hook, message));
     }
 
     @Override
@@ -147,55 +166,54 @@ public class JDAInteractionAdapter implements DiscordInteraction {
 
     @Override
     public void storeUserData(String key, Object value) {
-        userDataStore.computeIfAbsent(userId, k -> new ConcurrentHashMap<>())
-                .put(key, value);
+        sessions.getOrCreate(sessionScope).put(key, value);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> T getUserData(String key, Class<T> type) {
-        Map<String, Object> userData = userDataStore.get(userId);
-        if (userData == null) {
-            return null;
-        }
-        return (T) userData.get(key);
+        return (T) sessions.get(sessionScope).get(key);
     }
 
     @Override
     public Map<String, Object> getAllUserData() {
-        return userDataStore.getOrDefault(userId, Map.of());
+        return sessions.get(sessionScope);
     }
 
     @Override
-    public void deleteOriginalMessage() {
+    public CompletableFuture<Void> deleteOriginalMessage() {
         try {
-            // Delete the deferred reply message if it exists
-            if (deferredHook != null) {
-                deferredHook.deleteOriginal().queue();
-            }
+            // Delete the deferred reply message if it exists, after its pending edits
+            CompletableFuture<Void> deferredReply = chain.isDeferred()
+                    ? chain.then("delete deferred reply", InteractionHook::deleteOriginal)
+                    : CompletableFuture.completedFuture(null);
 
             // Also delete the button/menu message that triggered the interaction
+            CompletableFuture<Void> componentMessage = CompletableFuture.completedFuture(null);
             if (event instanceof ButtonInteractionEvent buttonEvent) {
-                buttonEvent.getMessage().delete().queue();
+                componentMessage = buttonEvent.getMessage().delete().submit();
             } else if (event instanceof StringSelectInteractionEvent selectEvent) {
-                selectEvent.getMessage().delete().queue();
+                componentMessage = selectEvent.getMessage().delete().submit();
             }
+            return CompletableFuture.allOf(deferredReply, componentMessage);
         } catch (Exception e) {
             // Silently ignore if message is already deleted or cannot be deleted
+            return CompletableFuture.completedFuture(null);
         }
     }
 
     @Override
-    public void sendChannelMessage(DiscordMessage message) {
+    public CompletableFuture<Void> sendChannelMessage(DiscordMessage message) {
         try {
             if (event instanceof ButtonInteractionEvent buttonEvent) {
-                buttonEvent.getChannel().sendMessage(message.getContent()).queue();
+                return buttonEvent.getChannel().sendMessage(message.getContent()).submit().thenApply(sent -> null);
             } else if (event instanceof StringSelectInteractionEvent selectEvent) {
-                selectEvent.getChannel().sendMessage(message.getContent()).queue();
+                return selectEvent.getChannel().sendMessage(message.getContent()).submit().thenApply(sent -> null);
             }
         } catch (Exception e) {
             // Silently ignore if cannot send message
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
@@ -227,7 +245,7 @@ public class JDAInteractionAdapter implements DiscordInteraction {
         reply.queue();
     }
 
-    private void sendEditedMessage(InteractionHook hook, DiscordMessage message) {
+    private WebhookMessageEditAction<Message> editMessage(InteractionHook hook, DiscordMessage message) {
         var editAction = hook.editOriginal(message.getContent());
 
         // Convert components
@@ -262,7 +280,7 @@ public class JDAInteractionAdapter implements DiscordInteraction {
             editAction.setComponents(); // Clear components
         }
 
-        editAction.queue();
+        return editAction;
     }
 
     private void addComponentsToReply(Object reply, DiscordMessage message) {
@@ -9,12 +9,13 @@ import net.dv8tion.jda.api.components.buttons.Button;
 import net.dv8tion.jda.api.components.buttons.ButtonStyle;
 import net.dv8tion.jda.api.components.selections.StringSelectMenu;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
 import net.dv8tion.jda.api.utils.FileUpload;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Adapter for JDA SlashCommandInteractionEvent.
@@ -25,18 +26,22 @@ public class JDASlashCommandAdapter implements DiscordInteraction {
     private final String userId;
     private final String username;
     private final String channelId;
+    private final String guildId;
+    private final InteractionSessionStore sessions;
+    private final String sessionScope;
 
-    private static final Map<String, Map<String, Object>> userDataStore = new ConcurrentHashMap<>();
-
-    private JDASlashCommandAdapter(SlashCommandInteractionEvent event) {
+    private JDASlashCommandAdapter(SlashCommandInteractionEvent event, InteractionSessionStore sessions) {
         this.event = event;
         this.userId = event.getUser().getId();
         this.username = event.getUser().getName();
         this.channelId = event.getChannel().getId();
+        this.guildId = event.getGuild() != null ? event.getGuild().getId() : null;
+        this.sessions = sessions;
+        this.sessionScope = userId + ":" + event.getId();
     }
 
-    public static JDASlashCommandAdapter from(SlashCommandInteractionEvent event) {
-        return new JDASlashCommandAdapter(event);
+    public static JDASlashCommandAdapter from(SlashCommandInteractionEvent event, InteractionSessionStore sessions) {
+        return new JDASlashCommandAdapter(event, sessions);
     }
 
     @Override
@@ -54,6 +59,11 @@ public class JDASlashCommandAdapter implements DiscordInteraction {
         return channelId;
     }
 
+    @Override
+    public String getGuildId() {
+        return guildId;
+    }
+
     @Override
     public List<String> getSelectedValues() {
         return List.of();
@@ -80,18 +90,21 @@ public class JDASlashCommandAdapter implements DiscordInteraction {
         );
     }
 
-    private net.dv8tion.jda.api.interactions.InteractionHook deferredHook;
+    private final InteractionChain chain = new InteractionChain();
 
     @Override
-    public void defer() {
-        // Block until defer is completed (synchronous)
-        this.deferredHook = event.deferReply().complete();
+    public CompletableFuture<Void> defer() {
+        // Does not wait for Discord: edits are chained on the acknowledgment
+        return chain.defer(event.deferReply());
     }
 
     @Override
-    public void editDeferredReply(DiscordMessage message) {
-        if (deferredHook != null) {
-            var editAction = deferredHook.editOriginal(message.getContent());
+    public CompletableFuture<Void> editDeferredReply(DiscordMessage message) {
+        if (!chain.isDeferred()) {
+            throw new IllegalStateException("No deferred reply to edit. Call defer() first.");
+        }
+        return chain.then("edit deferred reply", hook -> {
+            var editAction = hook.editOriginal(message.getContent());
 
             // Convert components
             List<ActionRow> actionRows = new ArrayList<>();
@@ -125,10 +138,8 @@ public class JDASlashCommandAdapter implements DiscordInteraction {
                 editAction.setComponents(); // Clear components
             }
 
-            editAction.queue();
-        } else {
-            throw new IllegalStateException("No deferred reply to edit. Call defer() first.");
-        }
+            return editAction;
+        });
     }
 
     @Override
@@ -140,42 +151,36 @@ public class JDASlashCommandAdapter implements DiscordInteraction {
 
     @Override
     public void storeUserData(String key, Object value) {
-        userDataStore.computeIfAbsent(userId, k -> new ConcurrentHashMap<>())
-                .put(key, value);
+        sessions.getOrCreate(sessionScope).put(key, value);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> T getUserData(String key, Class<T> type) {
-        Map<String, Object> userData = userDataStore.get(userId);
-        if (userData == null) {
-            return null;
-        }
-        return (T) userData.get(key);
+        return (T) sessions.get(sessionScope).get(key);
     }
 
     @Override
     public Map<String, Object> getAllUserData() {
-        return userDataStore.getOrDefault(userId, Map.of());
+        return sessions.get(sessionScope);
     }
 
     @Override
-    public void deleteOriginalMessage() {
-        try {
-            if (deferredHook != null) {
-                deferredHook.deleteOriginal().queue();
-            }
-        } catch (Exception e) {
-            // Silently ignore if message is already deleted or cannot be deleted
+    public CompletableFuture<Void> deleteOriginalMessage() {
+        // Deleted after the pending edits of the deferred reply
+        if (!chain.isDeferred()) {
+            return CompletableFuture.completedFuture(null);
         }
+        return chain.then("delete deferred reply", InteractionHook::deleteOriginal);
     }
 
     @Override
-    public void sendChannelMessage(DiscordMessage message) {
+    public CompletableFuture<Void> sendChannelMessage(DiscordMessage message) {
         try {
-            event.getChannel().sendMessage(message.getContent()).queue();
+            return event.getChannel().sendMessage(message.getContent()).submit().thenApply(sent -> null);
         } catch (Exception e) {
             // Silently ignore if cannot send message
+            return CompletableFuture.completedFuture(null);
         }
     }
 
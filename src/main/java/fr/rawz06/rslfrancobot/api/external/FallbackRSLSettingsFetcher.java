@@ -0,0 +1,189 @@
+package fr.rawz06.rslfrancobot.api.external;
+
+import fr.rawz06.rslfrancobot.config.RSLFallbackProperties;
+import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RSLScriptRunner;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RSLSettingsFetcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RSLSettingsFetcher trying several sources in turn:
+ * - the remote settings API (RSLSettingsFetcherImpl),
+ * - a local generator run, for the seasons mapped to a preset in app.rsl.fallback.local-presets,
+ * - the last settings successfully obtained for the season (last-known-good).
+ *
+ * Latency and error rate of the live sources are tracked (moving averages);
+ * healthy sources are tried fastest first, unhealthy ones afterwards, and the
+ * last-known-good settings only when every live source failed.
+ * An unhealthy source not tried for app.rsl.fallback.probe-interval is tried
+ * first once, so its error rate can go down again when it has recovered.
+ */
+@Component
+@Primary
+public class FallbackRSLSettingsFetcher implements RSLSettingsFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(FallbackRSLSettingsFetcher.class);
+
+    private final RSLSettingsFetcherImpl remoteFetcher;
+    private final RSLScriptRunner scriptRunner;
+    private final PresetRepository presetRepository;
+    private final RSLFallbackProperties properties;
+    private final List<Source> sources;
+    private final Map<String, LastKnownGood> lastKnownGood = new ConcurrentHashMap<>();
+
+    public FallbackRSLSettingsFetcher(RSLSettingsFetcherImpl remoteFetcher,
+                                      RSLScriptRunner scriptRunner,
+                                      PresetRepository presetRepository,
+                                      RSLFallbackProperties properties) {
+        this.remoteFetcher = remoteFetcher;
+        this.scriptRunner = scriptRunner;
+        this.presetRepository = presetRepository;
+        this.properties = properties;
+        this.sources = List.of(
+                new Source("remote", remoteFetcher::fetchSettings),
+                new Source("local", this::generateLocally));
+    }
+
+    private record LastKnownGood(SettingsFile settings, Instant obtainedAt) { }
+
+    @FunctionalInterface
+    private interface Fetch {
+        SettingsFile fetch(String season) throws Exception;
+    }
+
+    @Override
+    public SettingsFile fetchSettings(String season) throws SettingsFetcherException {
+        if (!properties.isEnabled()) {
+            return remoteFetcher.fetchSettings(season);
+        }
+
+        Exception lastError = null;
+        for (Source source : orderedSources(season)) {
+            long start = System.nanoTime();
+            try {
+                SettingsFile settings = source.fetch.fetch(season);
+                source.record(true, System.nanoTime() - start);
+                lastKnownGood.put(season, new LastKnownGood(settings, Instant.now()));
+                return settings;
+            } catch (Exception e) {
+                source.record(false, System.nanoTime() - start);
+                logger.warn("RSL settings source '{}' failed for {}: {}", source.name, season, e.getMessage());
+                lastError = e;
+            }
+        }
+
+        LastKnownGood fallback = lastKnownGood.get(season);
+        if (fallback != null && fallback.obtainedAt().isAfter(Instant.now().minus(properties.getLastKnownGoodMaxAge()))) {
+            logger.warn("Every RSL settings source failed for {}, reusing the settings obtained at {}",
+                    season, fallback.obtainedAt());
+            return fallback.settings();
+        }
+        throw new SettingsFetcherException("Failed to fetch RSL settings for " + season
+                + (lastError != null ? ": " + lastError.getMessage() : ""), lastError);
+    }
+
+    /**
+     * Recovery probes first, then healthy sources, fastest first; sources not
+     * applicable to the season are skipped.
+     */
+    private List<Source> orderedSources(String season) {
+        // Snapshot of the statistics, they keep changing while we sort
+        record Candidate(Source source, boolean probe, boolean unhealthy, double latency) { }
+        long probeInterval = properties.getProbeInterval().toNanos();
+        List<Candidate> candidates = new ArrayList<>();
+        for (Source source : sources) {
+            if (source.name.equals("local") && !properties.getLocalPresets().containsKey(season)) {
+                continue;
+            }
+            boolean unhealthy = source.errorRate() > properties.getErrorRateThreshold();
+            boolean probe = unhealthy && source.claimProbe(probeInterval);
+            if (probe) {
+                logger.info("RSL settings source '{}' is unhealthy, trying it first to check whether it recovered",
+                        source.name);
+            }
+            candidates.add(new Candidate(source, probe, unhealthy && !probe, source.latencyMillis()));
+        }
+        candidates.sort(Comparator.comparing((Candidate candidate) -> !candidate.probe())
+                .thenComparing(Candidate::unhealthy)
+                .thenComparingDouble(Candidate::latency));
+        return candidates.stream().map(Candidate::source).toList();
+    }
+
+    /**
+     * Rolls the season's local preset and flattens the result like the remote API does.
+     */
+    private SettingsFile generateLocally(String season) throws Exception {
+        String presetName = properties.getLocalPresets().get(season);
+        Preset preset = presetRepository.getPreset(presetName)
+                .orElseThrow(() -> new SettingsFetcherException("Preset " + presetName + " not found"));
+
+        Map<String, Object> output = scriptRunner.generateSettings(preset).settings();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> settings = output.get("settings") instanceof Map<?, ?> nested
+                ? (Map<String, Object>) nested
+                : output;
+        return new SettingsFile(settings);
+    }
+
+    /**
+     * A live source with exponential moving averages of its latency and error rate.
+     */
+    private static final class Source {
+        private static final double ALPHA = 0.2;
+
+        private final String name;
+        private final Fetch fetch;
+        private double latencyMillis;
+        private double errorRate;
+        private long lastAttempt = System.nanoTime();
+
+        private Source(String name, Fetch fetch) {
+            this.name = name;
+            this.fetch = fetch;
+        }
+
+        synchronized void record(boolean success, long nanos) {
+            lastAttempt = System.nanoTime();
+            double millis = nanos / 1_000_000.0;
+            latencyMillis = latencyMillis == 0 ? millis : ALPHA * millis + (1 - ALPHA) * latencyMillis;
+            errorRate = ALPHA * (success ? 0 : 1) + (1 - ALPHA) * errorRate;
+            logger.debug("RSL settings source '{}': latency {}ms, error rate {}",
+                    name, Math.round(latencyMillis), String.format("%.2f", errorRate));
+        }
+
+        /**
+         * Average latency, a source never used yet comes after the others.
+         */
+        synchronized double latencyMillis() {
+            return latencyMillis == 0 ? Double.MAX_VALUE : latencyMillis;
+        }
+
+        synchronized double errorRate() {
+            return errorRate;
+        }
+
+        /**
+         * True for a single caller once the source has not been tried for the interval.
+         */
+        synchronized boolean claimProbe(long intervalNanos) {
+            long now = System.nanoTime();
+            if (now - lastAttempt < intervalNanos) {
+                return false;
+            }
+            lastAttempt = now;
+            return true;
+        }
+    }
+}
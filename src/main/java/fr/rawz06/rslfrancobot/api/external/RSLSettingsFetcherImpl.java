@@ -1,17 +1,42 @@
 package fr.rawz06.rslfrancobot.api.external;
 
+import fr.rawz06.rslfrancobot.config.RSLApiProperties;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RSLSettingsFetcher;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementation of IRSLSettingsFetcher using RestTemplate to call a remote API.
+ * Uses the pooled client (rslApiRestTemplate). Optionally:
+ * - keeps a few settings per season fetched in advance (prefetch-depth),
+ * - sends a hedged second request when the first one is slower than the
+ *   observed latency percentile, and keeps whichever answers first.
  */
 @Component
 public class RSLSettingsFetcherImpl implements RSLSettingsFetcher {
@@ -19,18 +44,85 @@ public class RSLSettingsFetcherImpl implements RSLSettingsFetcher {
     private static final Logger logger = LoggerFactory.getLogger(RSLSettingsFetcherImpl.class);
 
     private final RestTemplate restTemplate;
+    private final RSLApiProperties properties;
+    private final LatencyWindow latencies = new LatencyWindow(100);
+    private final Map<String, Deque<Prefetched>> prefetched = new ConcurrentHashMap<>();
+    private final Set<String> refilling = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Value("${app.rsl.api.base-url}")
     private String apiBaseUrl;
 
-    public RSLSettingsFetcherImpl() {
-        this.restTemplate = new RestTemplate();
+    public RSLSettingsFetcherImpl(@Qualifier("rslApiRestTemplate") RestTemplate restTemplate,
+                                  RSLApiProperties properties) {
+        this.restTemplate = restTemplate;
+        this.properties = properties;
     }
 
+    private record Prefetched(SettingsFile settings, Instant fetchedAt) { }
+
     @Override
     public SettingsFile fetchSettings(String season) throws SettingsFetcherException {
+        if (properties.getPrefetchDepth() > 0) {
+            SettingsFile ready = takePrefetched(season);
+            schedulePrefetch(season);
+            if (ready != null) {
+                logger.info("Using prefetched RSL settings for {}", season);
+                return ready;
+            }
+        }
+        return fetchHedged(season);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.getPrefetchDepth() > 0) {
+            properties.getPrefetchSeasons().forEach(this::schedulePrefetch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fetches settings, sending a second request if the first one is too slow.
+     */
+    private SettingsFile fetchHedged(String season) throws SettingsFetcherException {
+        CompletableFuture<SettingsFile> first = CompletableFuture.supplyAsync(() -> fetchOnce(season), executor);
+        try {
+            if (!properties.isHedgingEnabled()) {
+                return first.get();
+            }
+            long delay = hedgeDelayMillis();
+            try {
+                return first.get(delay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                logger.info("RSL API slower than {}ms for {}, sending a hedged request", delay, season);
+                CompletableFuture<SettingsFile> second = CompletableFuture.supplyAsync(() -> fetchOnce(season), executor);
+                return firstSuccessful(first, second).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SettingsFetcherException("Interrupted while fetching RSL settings", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while ((cause instanceof CompletionException || cause instanceof SettingsFetchFailure) && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            logger.error("Error fetching RSL settings from API", cause);
+            throw new SettingsFetcherException("Failed to fetch RSL settings: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * One request to the API, its latency is recorded when it succeeds.
+     */
+    private SettingsFile fetchOnce(String season) {
         String url = apiBaseUrl + "/" + season;
         logger.info("Fetching RSL settings from: {}", url);
+        long start = System.nanoTime();
 
         try {
             @SuppressWarnings("unchecked")
@@ -42,11 +134,110 @@ public class RSLSettingsFetcherImpl implements RSLSettingsFetcher {
 
             @SuppressWarnings("unchecked")
             Map<String, Object> settings = (Map<String, Object>) response.get("settings");
+            latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
             return new SettingsFile(settings);
 
         } catch (Exception e) {
-            logger.error("Error fetching RSL settings from API", e);
-            throw new SettingsFetcherException("Failed to fetch RSL settings: " + e.getMessage(), e);
+            throw new SettingsFetchFailure(e);
+        }
+    }
+
+    private long hedgeDelayMillis() {
+        long minDelay = properties.getHedgeMinDelay().toMillis();
+        return Math.max(minDelay, latencies.percentile(properties.getHedgePercentile()).orElse(minDelay));
+    }
+
+    private SettingsFile takePrefetched(String season) {
+        Deque<Prefetched> queue = prefetched(season);
+        Instant limit = Instant.now().minus(properties.getPrefetchMaxAge());
+        Prefetched entry;
+        while ((entry = queue.pollFirst()) != null) {
+            if (entry.fetchedAt().isAfter(limit)) {
+                return entry.settings();
+            }
+        }
+        return null;
+    }
+
+    private void schedulePrefetch(String season) {
+        if (!refilling.add(season)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                Deque<Prefetched> queue = prefetched(season);
+                while (queue.size() < properties.getPrefetchDepth()) {
+                    queue.addLast(new Prefetched(fetchOnce(season), Instant.now()));
+                }
+            } catch (SettingsFetchFailure e) {
+                // Retried after the next request for this season
+                logger.warn("Unable to prefetch RSL settings for {}: {}", season, e.getCause().getMessage());
+            } finally {
+                refilling.remove(season);
+            }
+        });
+    }
+
+    private Deque<Prefetched> prefetched(String season) {
+        return prefetched.computeIfAbsent(season, key -> new ConcurrentLinkedDeque<>());
+    }
+
+    /**
+     * Completes with the first successful result, or fails once both requests failed.
+     */
+    private static CompletableFuture<SettingsFile> firstSuccessful(CompletableFuture<SettingsFile> first,
+                                                                   CompletableFuture<SettingsFile> second) {
+        CompletableFuture<SettingsFile> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<SettingsFile> attempt : List.of(first, second)) {
+            attempt.whenComplete((settings, error) -> {
+                if (error == null) {
+                    result.complete(settings);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Unchecked wrapper to carry a fetch failure through CompletableFuture.
+     */
+    private static class SettingsFetchFailure extends RuntimeException {
+        SettingsFetchFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Latencies of the last successful requests, for the hedging percentile.
+     */
+    private static class LatencyWindow {
+        private static final int MIN_SAMPLES = 10;
+
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized OptionalLong percentile(double percentile) {
+            if (count < MIN_SAMPLES) {
+                return OptionalLong.empty();
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(Math.min(1, Math.max(0, percentile)) * count) - 1;
+            return OptionalLong.of(sorted[Math.max(0, index)]);
         }
     }
 }
@@ -1,31 +1,43 @@
 package fr.rawz06.rslfrancobot.api.python;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RSLScriptRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Real implementation of the RSL Python script.
- * Executes RandomSettingsGenerator.py script to generate random settings.
+ * Executes RandomSettingsGenerator.py script to generate random settings,
+ * either in a new process per generation or through PythonWorkerPool.
+ * With app.python.output=pipe, the settings are streamed back on stdout
+ * instead of going through a temporary file in the script's data/ directory.
+ * Workers always keep the plando file in memory, whatever the output mode.
+ * Concurrent runs are bounded by ScriptExecutionLimiter, and each run has a
+ * hard deadline (app.python.timeout) after which its process tree is killed.
  */
 @Component
+@Qualifier("rslSettingsGenerator")
 public class PythonRSLScriptAdapter implements RSLScriptRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(PythonRSLScriptAdapter.class);
     private static final Pattern FILENAME_PATTERN = Pattern.compile("Plando File: (.+\\.json)");
+    private static final String SETTINGS_MARKER = "__RSL_SETTINGS__";
+    private static final Duration EXIT_GRACE_PERIOD = Duration.ofSeconds(5);
 
     @Value("${app.python.command}")
     private String pythonCommand;
@@ -36,6 +48,15 @@ public class PythonRSLScriptAdapter implements RSLScriptRunner {
     @Value("${app.python.script.name}")
     private String scriptName;
 
+    @Value("${app.python.output:file}")
+    private String outputMode;
+
+    @Value("${app.python.timeout:60s}")
+    private Duration timeout;
+
+    @Value("${app.python.output-tail-lines:50}")
+    private int outputTailLines;
+
     @Value("${app.python.weights.rsl}")
     private String rslWeight;
 
@@ -46,13 +67,17 @@ public class PythonRSLScriptAdapter implements RSLScriptRunner {
     private String beginnerWeight;
 
     private final ObjectMapper objectMapper;
+    private final PythonWorkerPool workerPool;
+    private final ScriptExecutionLimiter limiter;
 
-    public PythonRSLScriptAdapter(ObjectMapper objectMapper) {
+    public PythonRSLScriptAdapter(ObjectMapper objectMapper, PythonWorkerPool workerPool, ScriptExecutionLimiter limiter) {
         this.objectMapper = objectMapper;
+        this.workerPool = workerPool;
+        this.limiter = limiter;
     }
 
     @Override
-    public SettingsFile generateSettings(Preset preset) throws ScriptExecutionException {
+    public SettingsFile generateSettings(Preset preset, QueueListener queueListener) throws ScriptExecutionException {
         String weightFile = switch (preset.name()) {
             case "rsl" -> rslWeight;
             case "pot" -> potWeight;
@@ -60,50 +85,67 @@ public class PythonRSLScriptAdapter implements RSLScriptRunner {
             default -> throw new ScriptExecutionException("Unknown preset: " + preset.name());
         };
 
+        // Bounded number of Python runs, extra generations wait in the queue
+        return limiter.execute(queueListener, () -> runScript(preset, weightFile));
+    }
+
+    private SettingsFile runScript(Preset preset, String weightFile) throws ScriptExecutionException {
         logger.info("Generating {} settings with Python script...", preset.name());
         logger.info("Weight file: {}", weightFile);
 
-        try {
-            // 1. Prepare command
-            ProcessBuilder pb = new ProcessBuilder(
-                    pythonCommand,
-                    scriptName,
-                    "--override", weightFile,
-                    "--no_seed"
-            );
-
-            // Set working directory
-            File workingDir = new File(scriptDir);
-            if (!workingDir.exists() || !workingDir.isDirectory()) {
-                throw new ScriptExecutionException("Script directory not found: " + scriptDir);
-            }
-            pb.directory(workingDir);
-            pb.redirectErrorStream(true);
+        if (workerPool.isEnabled()) {
+            return new SettingsFile(workerPool.generate(weightFile));
+        }
 
-            logger.info("Command: {} in {}", String.join(" ", pb.command()), workingDir.getAbsolutePath());
+        File workingDir = new File(scriptDir);
+        if (!workingDir.exists() || !workingDir.isDirectory()) {
+            throw new ScriptExecutionException("Script directory not found: " + scriptDir);
+        }
 
-            // 2. Execute script
-            Process process = pb.start();
+        try {
+            Map<String, Object> settings = "pipe".equals(outputMode)
+                    ? runWithPipe(weightFile, workingDir)
+                    : runWithTempFile(weightFile, workingDir);
+            logger.info("Settings read successfully ({} keys)", settings.size());
+            return new SettingsFile(settings);
 
-            // 3. Capture output
-            String output;
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                output = reader.lines().collect(Collectors.joining("\n"));
-            }
+        } catch (ScriptExecutionException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptExecutionException("Script execution interrupted", e);
+        } catch (Exception e) {
+            logger.error("Error executing Python script", e);
+            throw new ScriptExecutionException("Python script execution failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs the script directly, then reads and deletes the plando file it wrote in data/.
+     */
+    private Map<String, Object> runWithTempFile(String weightFile, File workingDir) throws Exception {
+        // 1. Prepare command
+        List<String> command = List.of(
+                pythonCommand,
+                scriptName,
+                "--override", weightFile,
+                "--no_seed"
+        );
+        logger.info("Command: {} in {}", String.join(" ", command), workingDir.getAbsolutePath());
 
-            int exitCode = process.waitFor();
-            logger.info("Script completed with exit code: {}", exitCode);
-            logger.debug("Script output:\n{}", output);
+        // 2. Execute script, with a deadline killing the process tree
+        try (ScriptProcess script = ScriptProcess.start(command, workingDir, timeout, outputTailLines)) {
 
-            if (exitCode != 0) {
-                throw new ScriptExecutionException("Script failed with exit code " + exitCode + ": " + output);
+            // 3. Read output until the "Plando File: XXX.json" line
+            String filename = null;
+            String line;
+            while (filename == null && (line = script.readLine()) != null) {
+                filename = extractFilename(line);
             }
-
-            // 4. Extract generated file name
-            String filename = extractFilename(output);
+            checkCompletion(script, filename != null);
             logger.info("Generated file: {}", filename);
 
-            // 5. Read JSON file
+            // 4. Read JSON file
             File generatedFile = new File(workingDir, "data/" + filename);
             if (!generatedFile.exists()) {
                 throw new ScriptExecutionException("Generated file not found: " + generatedFile.getAbsolutePath());
@@ -111,9 +153,8 @@ public class PythonRSLScriptAdapter implements RSLScriptRunner {
 
             @SuppressWarnings("unchecked")
             Map<String, Object> settings = objectMapper.readValue(generatedFile, Map.class);
-            logger.info("Settings read successfully ({} keys)", settings.size());
 
-            // 6. Delete temporary file
+            // 5. Delete temporary file
             boolean deleted = generatedFile.delete();
             if (!deleted) {
                 logger.warn("Unable to delete temporary file: {}", generatedFile.getAbsolutePath());
@@ -121,29 +162,90 @@ public class PythonRSLScriptAdapter implements RSLScriptRunner {
                 logger.debug("Temporary file deleted: {}", filename);
             }
 
-            return new SettingsFile(settings);
+            return settings;
+        }
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ScriptExecutionException("Script execution interrupted", e);
-        } catch (Exception e) {
-            logger.error("Error executing Python script", e);
-            throw new ScriptExecutionException("Python script execution failed: " + e.getMessage(), e);
+    /**
+     * Runs the script through rsl_pipe.py: the plando file is kept in memory by
+     * the wrapper and streamed back after a marker line, then parsed directly
+     * from the process output. Nothing is written to data/, so concurrent runs
+     * in the same directory cannot collide.
+     */
+    private Map<String, Object> runWithPipe(String weightFile, File workingDir) throws Exception {
+        // 1. Prepare command
+        List<String> command = List.of(
+                pythonCommand,
+                "-u",
+                PythonResources.extract(PythonResources.PIPE).toString(),
+                scriptName,
+                "--override", weightFile,
+                "--no_seed"
+        );
+        logger.info("Command: {} in {}", String.join(" ", command), workingDir.getAbsolutePath());
+
+        // 2. Execute script, with a deadline killing the process tree
+        try (ScriptProcess script = ScriptProcess.start(command, workingDir, timeout, outputTailLines)) {
+
+            // 3. Read the script output up to the marker, then parse the settings from the same stream
+            Map<String, Object> settings = null;
+            String line;
+            while ((line = script.readLine()) != null) {
+                if (SETTINGS_MARKER.equals(line)) {
+                    try {
+                        settings = objectMapper.readValue(script.output(), new TypeReference<>() { });
+                    } catch (IOException e) {
+                        if (script.timedOut()) {
+                            throw new ScriptExecutionException("Script timed out after " + timeout.toSeconds()
+                                    + "s while streaming its settings", e);
+                        }
+                        throw e;
+                    }
+                    break;
+                }
+            }
+            checkCompletion(script, settings != null);
+            return settings;
         }
     }
 
     /**
-     * Extracts filename from script output.
-     * Looks for the line "Plando File: XXX.json"
+     * Checks how the script ended once its output has been read.
+     * When the result was already read, the process only gets a short grace
+     * period to exit before being killed.
      */
-    private String extractFilename(String output) throws ScriptExecutionException {
-        Matcher matcher = FILENAME_PATTERN.matcher(output);
-        if (matcher.find()) {
-            return matcher.group(1);
+    private void checkCompletion(ScriptProcess script, boolean resultRead) throws Exception {
+        Integer exitCode = script.awaitExit(resultRead ? EXIT_GRACE_PERIOD : timeout);
+        if (script.timedOut()) {
+            throw new ScriptExecutionException("Script timed out after " + timeout.toSeconds()
+                    + "s. Last output:\n" + script.tail());
         }
-        throw new ScriptExecutionException(
-                "Could not extract filename from script output. Looking for 'Plando File: XXX.json' pattern.\n" +
-                "Output was:\n" + output
-        );
+        logger.info("Script completed with exit code: {}", exitCode);
+        logger.debug("Script output (tail):\n{}", script.tail());
+
+        if (exitCode == null) {
+            if (resultRead) {
+                logger.warn("Script still running after printing its result, killed");
+                return;
+            }
+            throw new ScriptExecutionException("Script did not exit. Last output:\n" + script.tail());
+        }
+        if (exitCode != 0) {
+            throw new ScriptExecutionException("Script failed with exit code " + exitCode + ": " + script.tail());
+        }
+        if (!resultRead) {
+            throw new ScriptExecutionException(
+                    "Could not find the settings in script output. Looking for 'Plando File: XXX.json' pattern"
+                            + " or the settings marker.\nLast output:\n" + script.tail());
+        }
+    }
+
+    /**
+     * Extracts filename from a script output line.
+     * Looks for the line "Plando File: XXX.json"
+     */
+    private String extractFilename(String line) {
+        Matcher matcher = FILENAME_PATTERN.matcher(line);
+        return matcher.find() ? matcher.group(1) : null;
     }
 }
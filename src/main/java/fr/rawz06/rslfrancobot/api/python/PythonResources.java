@@ -0,0 +1,45 @@
+package fr.rawz06.rslfrancobot.api.python;
+
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Helper scripts shipped in the jar (src/main/resources/python), copied to
+ * temporary files on first use so the Python interpreter can run them.
+ */
+final class PythonResources {
+
+    static final String WORKER = "python/rsl_worker.py";
+    static final String PIPE = "python/rsl_pipe.py";
+
+    private static final Map<String, Path> extracted = new ConcurrentHashMap<>();
+
+    private PythonResources() {
+    }
+
+    static Path extract(String resource) throws IOException {
+        Path path = extracted.get(resource);
+        if (path != null) {
+            return path;
+        }
+        synchronized (extracted) {
+            path = extracted.get(resource);
+            if (path == null) {
+                path = Files.createTempFile("rsl_", ".py");
+                try (InputStream in = new ClassPathResource(resource).getInputStream()) {
+                    Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+                path.toFile().deleteOnExit();
+                extracted.put(resource, path);
+            }
+            return path;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package fr.rawz06.rslfrancobot.api.python;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One long-lived Python process running rsl_worker.py.
+ * Requests and responses are single JSON lines on stdin / stdout; stderr
+ * (the generator's own output) is forwarded to the debug log.
+ * Not thread safe: a worker is used by one generation at a time.
+ */
+class PythonWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PythonWorker.class);
+
+    private final int id;
+    private final Process process;
+    private final BufferedWriter stdin;
+    private final BufferedReader stdout;
+    private int jobs;
+
+    private PythonWorker(int id, Process process) {
+        this.id = id;
+        this.process = process;
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    static PythonWorker start(int id, List<String> command, File workingDir) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .directory(workingDir)
+                .start();
+        PythonWorker worker = new PythonWorker(id, process);
+
+        Thread.ofVirtual().name("python-worker-" + id + "-stderr").start(() -> {
+            try (BufferedReader stderr = new BufferedReader(
+                    new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = stderr.readLine()) != null) {
+                    logger.debug("[python-worker-{}] {}", id, line);
+                }
+            } catch (IOException ignored) {
+                // Stream closed with the process
+            }
+        });
+
+        logger.info("Python worker {} started (pid {})", id, process.pid());
+        return worker;
+    }
+
+    /**
+     * Sends a request and waits for its response line.
+     * The process is killed if no response arrives before the timeout.
+     */
+    JsonNode call(ObjectMapper objectMapper, Map<String, Object> request, Duration timeout,
+                  ScheduledExecutorService watchdog) throws IOException {
+        ScheduledFuture<?> kill = watchdog.schedule(this::destroy, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            stdin.write(objectMapper.writeValueAsString(request));
+            stdin.newLine();
+            stdin.flush();
+
+            String line = stdout.readLine();
+            if (line == null) {
+                throw new IOException(kill.isDone()
+                        ? "Python worker " + id + " timed out after " + timeout.toSeconds() + "s"
+                        : "Python worker " + id + " exited unexpectedly");
+            }
+            return objectMapper.readTree(line);
+        } finally {
+            kill.cancel(false);
+        }
+    }
+
+    void jobDone() {
+        jobs++;
+    }
+
+    int getJobs() {
+        return jobs;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    void destroy() {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+}
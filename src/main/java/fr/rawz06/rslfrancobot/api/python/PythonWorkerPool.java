@@ -0,0 +1,206 @@
+package fr.rawz06.rslfrancobot.api.python;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.rawz06.rslfrancobot.config.PythonWorkerPoolProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RSLScriptRunner.ScriptExecutionException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of long-lived Python processes running RandomSettingsGenerator.py.
+ * Each worker pays the interpreter startup and module imports once, then
+ * serves generations over stdin/stdout (see python/rsl_worker.py).
+ *
+ * At most {@code size} workers exist; a generation either reuses an idle
+ * worker or starts a new one. Workers are recycled after maxJobsPerWorker
+ * generations, killed on timeout or I/O error, and idle workers are pinged
+ * periodically.
+ */
+@Component
+public class PythonWorkerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(PythonWorkerPool.class);
+
+    @Value("${app.python.command}")
+    private String pythonCommand;
+
+    @Value("${app.python.script.dir}")
+    private String scriptDir;
+
+    @Value("${app.python.script.name}")
+    private String scriptName;
+
+    private final PythonWorkerPoolProperties properties;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<PythonWorker> idle = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "python-worker-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Kills workers that do not answer in time; kept apart from the scheduler,
+    // which blocks on the health checks it runs
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "python-worker-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PythonWorkerPool(PythonWorkerPoolProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(Math.max(1, properties.getSize()), true);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Starts the workers in the background and schedules the health checks.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!isEnabled()) {
+            return;
+        }
+        scheduler.execute(() -> {
+            for (int i = 0; i < properties.getSize(); i++) {
+                if (!permits.tryAcquire()) {
+                    break;
+                }
+                try {
+                    idle.offer(startWorker());
+                } catch (Exception e) {
+                    logger.warn("Unable to start Python worker: {}", e.getMessage());
+                    break;
+                } finally {
+                    permits.release();
+                }
+            }
+        });
+        long interval = properties.getHealthCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkIdleWorkers, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Generates settings with the given weights override file.
+     */
+    public Map<String, Object> generate(String weightFile) throws ScriptExecutionException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptExecutionException("Script execution interrupted", e);
+        }
+
+        PythonWorker worker = null;
+        boolean healthy = false;
+        try {
+            worker = idle.poll();
+            if (worker == null) {
+                worker = startWorker();
+            }
+
+            logger.info("Generating settings with Python worker {} ({})", worker.getId(), weightFile);
+            JsonNode response = worker.call(objectMapper, Map.of("type", "generate", "override", weightFile),
+                    properties.getRequestTimeout(), watchdog);
+            worker.jobDone();
+            healthy = true;
+
+            if (!response.path("ok").asBoolean(false)) {
+                throw new ScriptExecutionException("Python worker failed: " + response.path("error").asText("unknown error"));
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> settings = objectMapper.convertValue(response.get("settings"), Map.class);
+            logger.info("Settings read successfully ({} keys)", settings.size());
+            return settings;
+
+        } catch (IOException e) {
+            logger.error("Error communicating with Python worker", e);
+            throw new ScriptExecutionException("Python worker failed: " + e.getMessage(), e);
+        } finally {
+            if (worker != null) {
+                release(worker, healthy);
+            }
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        watchdog.shutdownNow();
+        List<PythonWorker> workers = new ArrayList<>();
+        idle.drainTo(workers);
+        workers.forEach(PythonWorker::destroy);
+    }
+
+    private void release(PythonWorker worker, boolean healthy) {
+        if (!healthy || !worker.isAlive()) {
+            logger.warn("Discarding Python worker {}", worker.getId());
+            worker.destroy();
+        } else if (worker.getJobs() >= properties.getMaxJobsPerWorker()) {
+            logger.info("Recycling Python worker {} after {} jobs", worker.getId(), worker.getJobs());
+            worker.destroy();
+        } else {
+            idle.offer(worker);
+        }
+    }
+
+    /**
+     * Pings every idle worker, replacing the ones that do not answer.
+     */
+    private void checkIdleWorkers() {
+        int count = idle.size();
+        for (int i = 0; i < count && permits.tryAcquire(); i++) {
+            PythonWorker worker = idle.poll();
+            if (worker == null) {
+                permits.release();
+                break;
+            }
+            boolean healthy = false;
+            try {
+                JsonNode response = worker.call(objectMapper, Map.of("type", "ping"),
+                        properties.getHealthCheckTimeout(), watchdog);
+                healthy = response.path("ok").asBoolean(false);
+            } catch (Exception e) {
+                logger.warn("Python worker {} failed its health check: {}", worker.getId(), e.getMessage());
+            } finally {
+                release(worker, healthy);
+                permits.release();
+            }
+        }
+    }
+
+    private PythonWorker startWorker() throws IOException {
+        File workingDir = new File(scriptDir);
+        if (!workingDir.exists() || !workingDir.isDirectory()) {
+            throw new IOException("Script directory not found: " + scriptDir);
+        }
+        String workerScript = PythonResources.extract(PythonResources.WORKER).toString();
+        List<String> command = List.of(pythonCommand, "-u", workerScript, scriptName);
+        return PythonWorker.start(nextId.getAndIncrement(), command, workingDir);
+    }
+}
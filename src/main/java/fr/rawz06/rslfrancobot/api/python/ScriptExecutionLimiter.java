@@ -0,0 +1,141 @@
+package fr.rawz06.rslfrancobot.api.python;
+
+import fr.rawz06.rslfrancobot.config.ScriptConcurrencyProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RSLScriptRunner.ScriptExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of RSL script executions running at once.
+ * Executions above the limit wait in a FIFO queue and are told their position
+ * (and every change of it) through their QueueListener.
+ */
+@Component
+public class ScriptExecutionLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScriptExecutionLimiter.class);
+
+    private final ScriptConcurrencyProperties properties;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private int running;
+    private int peakQueueDepth;
+    private long totalQueued;
+    private long totalWaitMillis;
+
+    public ScriptExecutionLimiter(ScriptConcurrencyProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Queue state, for logs and diagnostics.
+     */
+    public record Stats(int running, int queueDepth, int peakQueueDepth, long totalQueued, long averageWaitMillis) { }
+
+    @FunctionalInterface
+    public interface ScriptTask<T> {
+        T run() throws ScriptExecutionException;
+    }
+
+    /**
+     * Runs the task once a slot is free, waiting in the queue if needed.
+     */
+    public <T> T execute(QueueListener listener, ScriptTask<T> task) throws ScriptExecutionException {
+        acquire(listener);
+        try {
+            return task.run();
+        } finally {
+            release();
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(running, queue.size(), peakQueueDepth, totalQueued,
+                totalQueued == 0 ? 0 : totalWaitMillis / totalQueued);
+    }
+
+    private void acquire(QueueListener listener) throws ScriptExecutionException {
+        Waiter waiter;
+        int position;
+        synchronized (this) {
+            if (queue.isEmpty() && running < Math.max(1, properties.getMaxConcurrent())) {
+                running++;
+                return;
+            }
+            if (queue.size() >= properties.getMaxQueueSize()) {
+                throw new ScriptExecutionException("Too many RSL generations are waiting, please try again later");
+            }
+            waiter = new Waiter(listener);
+            queue.addLast(waiter);
+            position = queue.size();
+            totalQueued++;
+            peakQueueDepth = Math.max(peakQueueDepth, position);
+        }
+
+        logger.info("RSL script queue: waiting at position {} ({})", position, stats());
+        notifyPosition(listener, position);
+
+        boolean granted;
+        try {
+            granted = waiter.latch.await(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            granted = false;
+        }
+
+        synchronized (this) {
+            totalWaitMillis += (System.nanoTime() - waiter.queuedAt) / 1_000_000;
+            // The slot may have been handed over right after the timeout
+            if (!granted && waiter.latch.getCount() > 0) {
+                queue.remove(waiter);
+                throw new ScriptExecutionException(Thread.currentThread().isInterrupted()
+                        ? "Script execution interrupted"
+                        : "Timed out waiting for a free RSL generation slot");
+            }
+        }
+    }
+
+    private void release() {
+        List<Waiter> remaining;
+        synchronized (this) {
+            Waiter next = queue.pollFirst();
+            if (next == null) {
+                running--;
+                return;
+            }
+            // The slot goes straight to the next waiter, running stays the same
+            next.latch.countDown();
+            remaining = new ArrayList<>(queue);
+        }
+
+        for (int i = 0; i < remaining.size(); i++) {
+            notifyPosition(remaining.get(i).listener, i + 1);
+        }
+    }
+
+    private static void notifyPosition(QueueListener listener, int position) {
+        try {
+            listener.onQueued(QueueListener.Queue.RSL_SCRIPT, position);
+        } catch (Exception e) {
+            logger.warn("Queue listener failed", e);
+        }
+    }
+
+    private static final class Waiter {
+        private final QueueListener listener;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final long queuedAt = System.nanoTime();
+
+        private Waiter(QueueListener listener) {
+            this.listener = listener;
+        }
+    }
+}
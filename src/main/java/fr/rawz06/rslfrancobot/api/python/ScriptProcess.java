@@ -0,0 +1,123 @@
+package fr.rawz06.rslfrancobot.api.python;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One run of the RSL script with a hard deadline.
+ * When the deadline is reached the whole process tree is killed, which also
+ * unblocks the thread reading its output. Only the last lines of the merged
+ * stdout/stderr are kept, for error messages.
+ */
+final class ScriptProcess implements AutoCloseable {
+
+    private static final int MAX_LINE_LENGTH = 500;
+
+    private static final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "python-script-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Process process;
+    private final BufferedReader output;
+    private final Deque<String> tail = new ArrayDeque<>();
+    private final int tailLines;
+    private final long deadline;
+    private final ScheduledFuture<?> kill;
+    private volatile boolean timedOut;
+
+    private ScriptProcess(Process process, Duration timeout, int tailLines) {
+        this.process = process;
+        this.output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        this.tailLines = Math.max(1, tailLines);
+        this.deadline = System.nanoTime() + timeout.toNanos();
+        this.kill = watchdog.schedule(() -> {
+            timedOut = true;
+            destroyTree();
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    static ScriptProcess start(List<String> command, File workingDir, Duration timeout, int tailLines) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .directory(workingDir)
+                .redirectErrorStream(true)
+                .start();
+        return new ScriptProcess(process, timeout, tailLines);
+    }
+
+    /**
+     * Reads the next output line and keeps it in the tail.
+     *
+     * @return the line, or null once the output is closed (process ended or killed)
+     */
+    String readLine() throws IOException {
+        String line = output.readLine();
+        if (line != null) {
+            if (tail.size() == tailLines) {
+                tail.removeFirst();
+            }
+            tail.addLast(line.length() > MAX_LINE_LENGTH ? line.substring(0, MAX_LINE_LENGTH) + "..." : line);
+        }
+        return line;
+    }
+
+    /**
+     * Raw output, positioned after the last line read.
+     */
+    BufferedReader output() {
+        return output;
+    }
+
+    /**
+     * Waits for the process to exit, at most until the deadline.
+     *
+     * @param grace shorter limit to apply, e.g. when the result has already been read
+     * @return the exit code, or null if the process was still running and has been killed
+     */
+    Integer awaitExit(Duration grace) throws InterruptedException {
+        long remaining = Math.min(deadline - System.nanoTime(), grace.toNanos());
+        if (process.waitFor(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+            return process.exitValue();
+        }
+        destroyTree();
+        return null;
+    }
+
+    boolean timedOut() {
+        return timedOut;
+    }
+
+    String tail() {
+        return String.join("\n", tail);
+    }
+
+    @Override
+    public void close() {
+        kill.cancel(false);
+        if (process.isAlive()) {
+            destroyTree();
+        }
+        try {
+            output.close();
+        } catch (IOException ignored) {
+            // Process is gone, nothing left to read
+        }
+    }
+
+    private void destroyTree() {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+}
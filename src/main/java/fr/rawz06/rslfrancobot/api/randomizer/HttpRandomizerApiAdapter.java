@@ -1,23 +1,51 @@
 package fr.rawz06.rslfrancobot.api.randomizer;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import fr.rawz06.rslfrancobot.api.randomizer.RandomizerApiService.ApiResponse;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.pool.PoolStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Real HTTP implementation of the Randomizer API.
  * Calls https://ootrandomizer.com/api/v2/seed/create
  * All business logic is delegated to RandomizerApiService.
+ * Requests go through the pooled HTTP client (see HttpClientConfig), so
+ * connections to ootrandomizer.com are reused between seeds.
+ * The asynchronous variant uses the non-blocking client: no thread is parked
+ * while ootrandomizer.com generates the seed.
+ * Both variants go through RandomizerRateLimiter: calls over the limit are
+ * queued, and a 429 answer pauses the queue for the Retry-After delay.
+ * Transient failures are retried with a jittered backoff (RandomizerRetryPolicy)
+ * and each randomizer version has its own circuit breaker (RandomizerCircuitBreaker).
+ * Request bodies of fixed presets are serialized once (RequestBodyCache).
  *
  * Active only in the 'prod' profile.
  */
@@ -29,50 +57,288 @@ public class HttpRandomizerApiAdapter implements RandomizerApi {
 
     private final RestTemplate restTemplate;
     private final RandomizerApiService apiService;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient asyncClient;
+    private final ObjectReader responseReader;
+    private final RandomizerRateLimiter rateLimiter;
+    private final RandomizerRetryPolicy retryPolicy;
+    private final RandomizerCircuitBreaker circuitBreaker;
+    private final RequestBodyCache bodyCache;
 
-    public HttpRandomizerApiAdapter(RandomizerApiService apiService) {
+    public HttpRandomizerApiAdapter(RandomizerApiService apiService,
+                                    RandomizerRateLimiter rateLimiter,
+                                    RandomizerRetryPolicy retryPolicy,
+                                    RandomizerCircuitBreaker circuitBreaker,
+                                    RequestBodyCache bodyCache,
+                                    @Qualifier("randomizerRestTemplate") RestTemplate restTemplate,
+                                    PoolingHttpClientConnectionManager connectionManager,
+                                    CloseableHttpAsyncClient asyncClient,
+                                    ObjectMapper objectMapper) {
         this.apiService = apiService;
-        this.restTemplate = new RestTemplate();
+        this.rateLimiter = rateLimiter;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.bodyCache = bodyCache;
+        this.restTemplate = restTemplate;
+        this.connectionManager = connectionManager;
+        this.asyncClient = asyncClient;
+        this.responseReader = objectMapper.readerFor(ApiResponse.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     }
 
     @Override
-    public SeedResult generateSeed(SeedMode mode, SettingsFile settings) throws RandomizerApiException {
+    public SeedResult generateSeed(SeedMode mode, SettingsFile settings, QueueListener queueListener) throws RandomizerApiException {
         // 1. Get version for this mode (business logic in service)
         String version = apiService.getVersionForMode(mode);
 
         // 2. Log settings (business logic in service)
         apiService.logSettings(mode, version, settings);
 
+        // 3. Fail fast if this version keeps failing
+        circuitBreaker.checkAvailable(version);
+
+        // 4. Serialize the body (cached for fixed presets)
+        byte[] body;
         try {
-            // 3. Build URL with query parameters (business logic in service)
-            String url = apiService.buildApiUrl(version);
-
-            // 4. Prepare HTTP request (HTTP-specific logic only)
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(settings.settings(), headers);
-
-            // 5. Send POST request (HTTP-specific logic only)
-            logger.info("Calling API: POST https://ootrandomizer.com/api/v2/seed/create");
-            ResponseEntity<ApiResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    request,
-                    ApiResponse.class
-            );
-
-            // 6. Validate response (HTTP-specific logic only)
-            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                throw new RandomizerApiException("API returned status: " + response.getStatusCode());
+            body = bodyCache.body(mode, settings);
+        } catch (Exception e) {
+            logger.error("Error preparing randomizer API request", e);
+            throw new RandomizerApiException("Failed to generate seed: " + e.getMessage(), e);
+        }
+
+        String apiKey = apiService.getApiKey();
+        int attempt = 1;
+        int rateLimited = 0;
+        while (true) {
+            // 5. Wait for the rate limiter (queued callers are told their position)
+            rateLimiter.acquireBlocking(apiKey, queueListener);
+
+            try {
+                // 6. Build URL with query parameters (business logic in service)
+                String url = apiService.buildApiUrl(version);
+
+                // 7. Prepare HTTP request (HTTP-specific logic only), the bytes are written as is
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                HttpEntity<byte[]> request = new HttpEntity<>(body, headers);
+
+                // 8. Send POST request (HTTP-specific logic only)
+                logger.info("Calling API: POST https://ootrandomizer.com/api/v2/seed/create");
+                logPoolStats();
+                ResponseEntity<ApiResponse> response = restTemplate.exchange(
+                        url,
+                        HttpMethod.POST,
+                        request,
+                        ApiResponse.class
+                );
+
+                // 9. Validate response (HTTP-specific logic only)
+                if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                    throw new RandomizerApiException("API returned status: " + response.getStatusCode());
+                }
+
+                // 10. Build SeedResult (business logic in service)
+                ApiResponse apiResponse = response.getBody();
+                SeedResult result = apiService.buildSeedResult(apiResponse, settings);
+                circuitBreaker.recordSuccess(version);
+                return result;
+
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                // Rate limited by the API: pause the bucket for Retry-After, then queue again
+                HttpHeaders responseHeaders = e.getResponseHeaders();
+                rateLimiter.pause(apiKey, rateLimiter.parseRetryAfter(
+                        responseHeaders == null ? null : responseHeaders.getFirst(HttpHeaders.RETRY_AFTER)));
+                if (++rateLimited > rateLimiter.getMaxRetriesOn429()) {
+                    throw new RandomizerApiException("Randomizer API rate limit exceeded, please try again later", e);
+                }
+            } catch (Exception e) {
+                // Rejected requests (4xx) and local errors say nothing about the health of the version
+                if (retryPolicy.isTransient(e)) {
+                    circuitBreaker.recordFailure(version);
+                }
+                if (!retryPolicy.isRetryable(e) || attempt >= retryPolicy.getMaxAttempts()) {
+                    logger.error("Error calling randomizer API", e);
+                    throw new RandomizerApiException("Failed to generate seed: " + e.getMessage(), e);
+                }
+
+                // Transient failure: wait, then retry unless the circuit opened meanwhile
+                Duration backoff = retryPolicy.backoff(attempt);
+                logger.warn("Randomizer API call failed ({}), retrying in {}ms (attempt {}/{})",
+                        e.getMessage(), backoff.toMillis(), attempt + 1, retryPolicy.getMaxAttempts());
+                sleep(backoff);
+                circuitBreaker.checkAvailable(version);
+                attempt++;
             }
+        }
+    }
 
-            // 7. Build SeedResult (business logic in service)
-            ApiResponse apiResponse = response.getBody();
-            return apiService.buildSeedResult(apiResponse, settings);
+    @Override
+    public CompletableFuture<SeedResult> generateSeedAsync(SeedMode mode, SettingsFile settings, QueueListener queueListener) {
+        // 1. Get version for this mode (business logic in service)
+        String version = apiService.getVersionForMode(mode);
+
+        // 2. Log settings (business logic in service)
+        apiService.logSettings(mode, version, settings);
+
+        // 3. Build URL and body (body cached for fixed presets, reused if the call is sent again)
+        Call call;
+        try {
+            circuitBreaker.checkAvailable(version);
+            call = new Call(apiService.buildApiUrl(version), bodyCache.body(mode, settings),
+                    version, settings, queueListener);
+        } catch (RandomizerApiException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (Exception e) {
+            logger.error("Error preparing randomizer API request", e);
+            return CompletableFuture.failedFuture(
+                    new RandomizerApiException("Failed to generate seed: " + e.getMessage(), e));
+        }
+
+        return sendAsync(call, 1, 0);
+    }
 
+    /**
+     * A prepared asynchronous seed request, sent again as is on retry.
+     */
+    private record Call(String url, byte[] body, String version, SettingsFile settings, QueueListener queueListener) { }
+
+    /**
+     * Waits for the rate limiter and sends the request.
+     * A 429 answer pauses the bucket and queues the request again; transient
+     * failures are retried after a backoff.
+     */
+    private CompletableFuture<SeedResult> sendAsync(Call call, int attempt, int rateLimited) {
+        String apiKey = apiService.getApiKey();
+        return rateLimiter.acquire(apiKey, call.queueListener())
+                .thenCompose(ignored -> execute(SimpleRequestBuilder.post(call.url())
+                        .setBody(call.body(), ContentType.APPLICATION_JSON)
+                        .build())
+                        .handle((response, error) -> {
+                            if (error != null) {
+                                return retryOrFail(call, attempt, rateLimited, error,
+                                        retryPolicy.isTransient(error), retryPolicy.isRetryable(error));
+                            }
+                            if (response.getCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                                Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+                                rateLimiter.pause(apiKey, rateLimiter.parseRetryAfter(retryAfter == null ? null : retryAfter.getValue()));
+                                if (rateLimited < rateLimiter.getMaxRetriesOn429()) {
+                                    return sendAsync(call, attempt, rateLimited + 1);
+                                }
+                                return CompletableFuture.<SeedResult>failedFuture(
+                                        new RandomizerApiException("Randomizer API rate limit exceeded, please try again later"));
+                            }
+                            if (retryPolicy.isRetryableStatus(response.getCode())) {
+                                return retryOrFail(call, attempt, rateLimited,
+                                        new RandomizerApiException("API returned status: " + response.getCode()),
+                                        retryPolicy.isTransientStatus(response.getCode()), true);
+                            }
+
+                            try {
+                                SeedResult result = toSeedResult(response, call.settings());
+                                circuitBreaker.recordSuccess(call.version());
+                                return CompletableFuture.completedFuture(result);
+                            } catch (RandomizerApiException e) {
+                                if (retryPolicy.isTransientStatus(response.getCode())) {
+                                    circuitBreaker.recordFailure(call.version());
+                                }
+                                return CompletableFuture.<SeedResult>failedFuture(e);
+                            }
+                        })
+                        .thenCompose(Function.identity()));
+    }
+
+    /**
+     * Records the failure if it is transient, then either sends the request again
+     * after the backoff or fails with a RandomizerApiException.
+     */
+    private CompletableFuture<SeedResult> retryOrFail(Call call, int attempt, int rateLimited,
+                                                      Throwable error, boolean transientFailure, boolean retryable) {
+        if (transientFailure) {
+            circuitBreaker.recordFailure(call.version());
+        }
+        if (!retryable || attempt >= retryPolicy.getMaxAttempts()) {
+            return CompletableFuture.failedFuture(error instanceof RandomizerApiException
+                    ? error
+                    : new RandomizerApiException("Failed to generate seed: " + error.getMessage(), error));
+        }
+
+        Duration backoff = retryPolicy.backoff(attempt);
+        logger.warn("Randomizer API call failed ({}), retrying in {}ms (attempt {}/{})",
+                error.getMessage(), backoff.toMillis(), attempt + 1, retryPolicy.getMaxAttempts());
+        Executor delayed = CompletableFuture.delayedExecutor(backoff.toMillis(), TimeUnit.MILLISECONDS);
+        return CompletableFuture.runAsync(() -> { }, delayed)
+                .thenCompose(ignored -> {
+                    try {
+                        circuitBreaker.checkAvailable(call.version());
+                    } catch (RandomizerApiException e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                    return sendAsync(call, attempt + 1, rateLimited);
+                });
+    }
+
+    /**
+     * Sends the POST request without blocking, the future is completed from the I/O reactor callback.
+     */
+    private CompletableFuture<SimpleHttpResponse> execute(SimpleHttpRequest request) {
+        logger.info("Calling API (async): POST https://ootrandomizer.com/api/v2/seed/create");
+        CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+        asyncClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                logger.warn("Error calling randomizer API: {}", e.getMessage());
+                result.completeExceptionally(
+                        new RandomizerApiException("Failed to generate seed: " + e.getMessage(), e));
+            }
+
+            @Override
+            public void cancelled() {
+                result.completeExceptionally(new RandomizerApiException("Seed generation request cancelled"));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Validates the asynchronous response and builds the SeedResult from it.
+     */
+    private SeedResult toSeedResult(SimpleHttpResponse response, SettingsFile settings) throws RandomizerApiException {
+        if (response.getCode() != HttpStatus.OK.value() || response.getBodyBytes() == null) {
+            throw new RandomizerApiException("API returned status: " + response.getCode());
+        }
+
+        try {
+            ApiResponse apiResponse = responseReader.readValue(response.getBodyBytes());
+            return apiService.buildSeedResult(apiResponse, settings);
         } catch (Exception e) {
-            logger.error("Error calling randomizer API", e);
+            logger.error("Error reading randomizer API response", e);
             throw new RandomizerApiException("Failed to generate seed: " + e.getMessage(), e);
         }
     }
+
+    private static void sleep(Duration delay) throws RandomizerApiException {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RandomizerApiException("Seed generation interrupted", e);
+        }
+    }
+
+    /**
+     * Logs the state of the connection pool (leased / available / pending).
+     * A growing pending count means the pool is too small for the current load.
+     */
+    private void logPoolStats() {
+        if (logger.isDebugEnabled()) {
+            PoolStats stats = connectionManager.getTotalStats();
+            logger.debug("HTTP pool: leased={}, available={}, pending={}, max={}",
+                    stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+        }
+    }
 }
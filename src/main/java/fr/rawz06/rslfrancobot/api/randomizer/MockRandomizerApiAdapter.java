@@ -5,6 +5,7 @@ import fr.rawz06.rslfrancobot.api.randomizer.RandomizerApiService.ApiResponse;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +13,8 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Mock implementation of the Randomizer API.
@@ -35,11 +38,38 @@ public class MockRandomizerApiAdapter implements RandomizerApi {
     }
 
     @Override
-    public SeedResult generateSeed(SeedMode mode, SettingsFile settings) throws RandomizerApiException {
+    public SeedResult generateSeed(SeedMode mode, SettingsFile settings, QueueListener queueListener) throws RandomizerApiException {
         // 1. Get version for this mode (same business logic as HTTP adapter)
         String version = apiService.getVersionForMode(mode);
 
         // 2. Display settings in formatted JSON for verification (INFO level for Mock)
+        printSettings(settings);
+
+        // 3. Simulate realistic network delay (5 seconds like a real HTTP call)
+        try {
+            Thread.sleep(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RandomizerApiException("Generation interrupted", e);
+        }
+
+        // 4. Create fake API response and build SeedResult (same business logic as HTTP adapter)
+        return buildMockResult(version, settings);
+    }
+
+    @Override
+    public CompletableFuture<SeedResult> generateSeedAsync(SeedMode mode, SettingsFile settings, QueueListener queueListener) {
+        String version = apiService.getVersionForMode(mode);
+        printSettings(settings);
+
+        // Same 5 second delay, but scheduled: no thread is parked while "generating"
+        return CompletableFuture.supplyAsync(
+                () -> buildMockResult(version, settings),
+                CompletableFuture.delayedExecutor(5, TimeUnit.SECONDS)
+        );
+    }
+
+    private void printSettings(SettingsFile settings) {
         try {
             String jsonSettings = objectMapper.writerWithDefaultPrettyPrinter()
                     .writeValueAsString(settings.settings());
@@ -54,22 +84,15 @@ public class MockRandomizerApiAdapter implements RandomizerApi {
         } catch (Exception e) {
             logger.error("Error serializing settings", e);
         }
+    }
 
-        // 3. Simulate realistic network delay (5 seconds like a real HTTP call)
-        try {
-            Thread.sleep(5000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RandomizerApiException("Generation interrupted", e);
-        }
-
-        // 4. Create fake API response (simulating what the real API would return)
+    private SeedResult buildMockResult(String version, SettingsFile settings) {
+        // Create fake API response (simulating what the real API would return)
         String mockId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
         ApiResponse mockResponse = new ApiResponse(mockId, version, true);
 
         logger.info("MOCK: Simulating API response with id={}", mockId);
 
-        // 5. Build SeedResult (same business logic as HTTP adapter)
         return apiService.buildSeedResult(mockResponse, settings);
     }
 }
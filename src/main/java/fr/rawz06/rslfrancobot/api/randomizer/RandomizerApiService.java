@@ -54,6 +54,13 @@ public class RandomizerApiService {
         };
     }
 
+    /**
+     * API key used for the calls, also identifies the rate limit bucket.
+     */
+    public String getApiKey() {
+        return apiKey;
+    }
+
     /**
      * Builds the full API URL with query parameters (key and version).
      */
@@ -69,6 +76,9 @@ public class RandomizerApiService {
      * Uses DEBUG level to avoid flooding logs in production.
      */
     public void logSettings(SeedMode mode, String version, SettingsFile settings) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
         try {
             String jsonSettings = objectMapper.writerWithDefaultPrettyPrinter()
                     .writeValueAsString(settings.settings());
@@ -0,0 +1,109 @@
+package fr.rawz06.rslfrancobot.api.randomizer;
+
+import fr.rawz06.rslfrancobot.config.RandomizerCircuitBreakerProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi.RandomizerApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker per randomizer version (see RandomizerApiService.getVersionForMode).
+ * After too many consecutive failures the version is rejected immediately until
+ * the open duration has elapsed; a single trial call then decides whether the
+ * circuit closes again. A broken dev branch therefore fails fast instead of
+ * holding a thread for every click, while the other versions keep working.
+ */
+@Component
+public class RandomizerCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RandomizerCircuitBreaker.class);
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final RandomizerCircuitBreakerProperties properties;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public RandomizerCircuitBreaker(RandomizerCircuitBreakerProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Throws if calls to this version are currently rejected.
+     */
+    public void checkAvailable(String version) throws RandomizerApiException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long retryIn = circuit(version).tryAcquire();
+        if (retryIn > 0) {
+            throw new RandomizerApiException(String.format(
+                    "Randomizer version %s is currently unavailable, please try again in %ds",
+                    version, Duration.ofNanos(retryIn).toSeconds() + 1));
+        }
+    }
+
+    public void recordSuccess(String version) {
+        if (properties.isEnabled()) {
+            circuit(version).onSuccess(version);
+        }
+    }
+
+    public void recordFailure(String version) {
+        if (properties.isEnabled()) {
+            circuit(version).onFailure(version);
+        }
+    }
+
+    private Circuit circuit(String version) {
+        return circuits.computeIfAbsent(version == null ? "" : version, key -> new Circuit());
+    }
+
+    private class Circuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+
+        /**
+         * @return 0 if the call may proceed, otherwise the remaining open time in nanoseconds
+         */
+        synchronized long tryAcquire() {
+            long openNanos = properties.getOpenDuration().toNanos();
+            if (state == State.CLOSED) {
+                return 0;
+            }
+            // In HALF_OPEN, openedAt is the start of the trial call: if its outcome is
+            // never reported (e.g. it ended on a 429), another trial is let through later
+            long remaining = openedAt + openNanos - System.nanoTime();
+            if (remaining > 0) {
+                return remaining;
+            }
+            state = State.HALF_OPEN;
+            openedAt = System.nanoTime();
+            return 0;
+        }
+
+        synchronized void onSuccess(String version) {
+            if (state != State.CLOSED) {
+                logger.info("Randomizer version {} is available again, closing circuit", version);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+        }
+
+        synchronized void onFailure(String version) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= properties.getFailureThreshold()) {
+                if (state != State.OPEN) {
+                    logger.warn("Randomizer version {} failed {} times in a row, opening circuit for {}s",
+                            version, consecutiveFailures, properties.getOpenDuration().toSeconds());
+                }
+                state = State.OPEN;
+                openedAt = System.nanoTime();
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package fr.rawz06.rslfrancobot.api.randomizer;
+
+import fr.rawz06.rslfrancobot.config.RandomizerRateLimitProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi.RandomizerApiException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter in front of the randomizer API, one bucket per API key.
+ * Calls above the limit wait in a FIFO queue; their position is reported through
+ * the QueueListener of the request. A 429 answer pauses the whole bucket for the
+ * duration given by the Retry-After header.
+ */
+@Component
+public class RandomizerRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RandomizerRateLimiter.class);
+
+    private final RandomizerRateLimitProperties properties;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "randomizer-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RandomizerRateLimiter(RandomizerRateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Takes a token for this API key.
+     * The future completes immediately if a token is available, otherwise once the
+     * request reaches the head of the queue and a token has been refilled.
+     */
+    public CompletableFuture<Void> acquire(String apiKey, QueueListener listener) {
+        if (!properties.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return bucket(apiKey).acquire(listener);
+    }
+
+    /**
+     * Blocking variant of {@link #acquire(String, QueueListener)} for synchronous callers.
+     */
+    public void acquireBlocking(String apiKey, QueueListener listener) throws RandomizerApiException {
+        try {
+            acquire(apiKey, listener).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RandomizerApiException apiException) {
+                throw apiException;
+            }
+            throw new RandomizerApiException("Rate limiter failure: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Pauses every call for this API key (429 received).
+     */
+    public void pause(String apiKey, Duration delay) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        logger.warn("Randomizer API rate limit hit, pausing calls for {}s", delay.toSeconds());
+        bucket(apiKey).pause(delay);
+    }
+
+    /**
+     * Parses a Retry-After header (delay in seconds or HTTP date).
+     * Falls back to the configured default when missing or invalid.
+     */
+    public Duration parseRetryAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return properties.getDefaultRetryAfter();
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(header.trim())));
+        } catch (NumberFormatException ignored) {
+            // Not a number of seconds, try the HTTP date format
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (Exception e) {
+            logger.debug("Invalid Retry-After header: {}", header);
+            return properties.getDefaultRetryAfter();
+        }
+    }
+
+    public int getMaxRetriesOn429() {
+        return properties.getMaxRetriesOn429();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private Bucket bucket(String apiKey) {
+        return buckets.computeIfAbsent(apiKey == null ? "" : apiKey, key -> new Bucket());
+    }
+
+    private record Waiter(CompletableFuture<Void> future, QueueListener listener) { }
+
+    /**
+     * Token bucket with its FIFO queue of waiting requests.
+     * State is guarded by the bucket monitor; futures and listeners are always
+     * called outside of it.
+     */
+    private class Bucket {
+        private final double capacity = Math.max(1, properties.getBurst());
+        private final double tokensPerNano = Math.max(1, properties.getRequestsPerMinute()) / (double) TimeUnit.MINUTES.toNanos(1);
+        private final Deque<Waiter> queue = new ArrayDeque<>();
+        private double tokens = capacity;
+        private long lastRefill = System.nanoTime();
+        private long pausedUntil = lastRefill;
+        private boolean drainScheduled;
+
+        CompletableFuture<Void> acquire(QueueListener listener) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            int position;
+            synchronized (this) {
+                long now = System.nanoTime();
+                refill(now);
+                if (queue.isEmpty() && now >= pausedUntil && tokens >= 1) {
+                    tokens -= 1;
+                    return CompletableFuture.completedFuture(null);
+                }
+                if (queue.size() >= properties.getMaxQueueSize()) {
+                    return CompletableFuture.failedFuture(
+                            new RandomizerApiException("Too many seeds are waiting for the randomizer, please try again later"));
+                }
+                queue.addLast(new Waiter(future, listener));
+                position = queue.size();
+                scheduleDrain(now);
+            }
+
+            logger.info("Randomizer API rate limit reached, request queued at position {}", position);
+            notifyPosition(listener, position);
+            return future;
+        }
+
+        synchronized void pause(Duration delay) {
+            long now = System.nanoTime();
+            pausedUntil = Math.max(pausedUntil, now + delay.toNanos());
+            tokens = 0;
+            if (!queue.isEmpty()) {
+                scheduleDrain(now);
+            }
+        }
+
+        private void drain() {
+            List<Waiter> granted = new ArrayList<>();
+            List<Waiter> remaining;
+            synchronized (this) {
+                drainScheduled = false;
+                long now = System.nanoTime();
+                refill(now);
+                while (!queue.isEmpty() && now >= pausedUntil && tokens >= 1) {
+                    tokens -= 1;
+                    granted.add(queue.pollFirst());
+                }
+                remaining = granted.isEmpty() ? List.of() : new ArrayList<>(queue);
+                if (!queue.isEmpty()) {
+                    scheduleDrain(now);
+                }
+            }
+
+            granted.forEach(waiter -> waiter.future().complete(null));
+            for (int i = 0; i < remaining.size(); i++) {
+                notifyPosition(remaining.get(i).listener(), i + 1);
+            }
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+
+        private void scheduleDrain(long now) {
+            if (drainScheduled) {
+                return;
+            }
+            long untilToken = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+            long delay = Math.max(pausedUntil - now, untilToken);
+            drainScheduled = true;
+            scheduler.schedule(this::drain, Math.max(0, delay), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void notifyPosition(QueueListener listener, int position) {
+        try {
+            listener.onQueued(QueueListener.Queue.RANDOMIZER_API, position);
+        } catch (Exception e) {
+            logger.warn("Queue listener failed", e);
+        }
+    }
+}
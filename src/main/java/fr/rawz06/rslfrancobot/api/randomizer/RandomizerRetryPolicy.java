@@ -0,0 +1,105 @@
+package fr.rawz06.rslfrancobot.api.randomizer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import fr.rawz06.rslfrancobot.config.RandomizerRetryProperties;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which randomizer API failures are retried and how long to wait between attempts.
+ * Creating a seed is not idempotent, so only failures after which sending the seed
+ * again is safe are retried: gateway errors, and failures that happen before the
+ * request is written (connection refused or timed out, no pooled connection available).
+ * A failure once the body may have been sent (response timeout, connection reset,
+ * no response) is not retried since the server may still create the first seed.
+ */
+@Component
+public class RandomizerRetryPolicy {
+
+    private final RandomizerRetryProperties properties;
+
+    public RandomizerRetryPolicy(RandomizerRetryProperties properties) {
+        this.properties = properties;
+    }
+
+    public int getMaxAttempts() {
+        return Math.max(1, properties.getMaxAttempts());
+    }
+
+    public boolean isRetryableStatus(int status) {
+        return properties.getRetryableStatuses().contains(status);
+    }
+
+    /**
+     * Checks the exception and its causes for a failure after which the seed can be sent again.
+     */
+    public boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpServerErrorException serverError) {
+                return isRetryableStatus(serverError.getStatusCode().value());
+            }
+            if (isBeforeRequestWritten(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the exception and its causes for a failure of the API itself (5xx answer
+     * or I/O error), as opposed to a rejected request (4xx) or a local error.
+     * Only those count against the circuit breaker.
+     */
+    public boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpServerErrorException) {
+                return true;
+            }
+            if (cause instanceof HttpClientErrorException || cause instanceof JsonProcessingException) {
+                return false;
+            }
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isTransientStatus(int status) {
+        return status >= 500;
+    }
+
+    private static boolean isBeforeRequestWritten(Throwable error) {
+        return error instanceof ConnectException
+                || error instanceof ConnectTimeoutException
+                || error instanceof ConnectionRequestTimeoutException
+                || error instanceof UnknownHostException
+                || error instanceof NoRouteToHostException;
+    }
+
+    /**
+     * Exponential backoff with jitter: a random delay between half and all of
+     * initialBackoff * multiplier^(attempt - 1), capped at maxBackoff.
+     *
+     * @param attempt the attempt that just failed (1-based)
+     */
+    public Duration backoff(int attempt) {
+        double exponential = properties.getInitialBackoff().toMillis()
+                * Math.pow(Math.max(1.0, properties.getMultiplier()), attempt - 1);
+        long ceiling = (long) Math.min(properties.getMaxBackoff().toMillis(), exponential);
+        if (ceiling <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+    }
+}
@@ -0,0 +1,78 @@
+package fr.rawz06.rslfrancobot.api.randomizer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialized JSON bodies for the modes whose settings come straight from a preset
+ * (S8, S9, ToT, Mixed, Salad, Allsanity).
+ * Those settings are immutable and the same instance is handed out for every seed,
+ * so the instance itself is the fingerprint: a reloaded preset gets a new instance
+ * and is serialized again. Other modes are serialized on every call.
+ */
+@Component
+public class RequestBodyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestBodyCache.class);
+
+    private static final Set<SeedMode> FIXED_MODES = EnumSet.of(
+            SeedMode.S8, SeedMode.S9, SeedMode.TOT, SeedMode.MIXED,
+            SeedMode.ALLSANITY_ER_DECOUPLED, SeedMode.ALLSANITY_ER, SeedMode.ALLSANITY_ONLY,
+            SeedMode.SALAD_RUPEES, SeedMode.SALAD_DUNGEONS, SeedMode.SALAD_SONGS, SeedMode.SALAD_MIX,
+            SeedMode.SALAD_ENEMY, SeedMode.SALAD_NATURE, SeedMode.SALAD_ALL);
+
+    /**
+     * Bodies kept per mode (SALAD_RUPEES alternates between several settings variants).
+     */
+    private static final int MAX_BODIES_PER_MODE = 4;
+
+    private final ObjectMapper objectMapper;
+    private final Map<SeedMode, List<Body>> bodies = new ConcurrentHashMap<>();
+
+    public RequestBodyCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * UTF-8 JSON body for these settings, serialized once per settings instance for fixed modes.
+     * The returned array is shared and must not be modified.
+     */
+    public byte[] body(SeedMode mode, SettingsFile settings) throws JsonProcessingException {
+        Map<String, Object> fingerprint = settings.settings();
+        if (!FIXED_MODES.contains(mode)) {
+            return objectMapper.writeValueAsBytes(fingerprint);
+        }
+
+        for (Body body : bodies.getOrDefault(mode, List.of())) {
+            if (body.settings() == fingerprint) {
+                return body.json();
+            }
+        }
+
+        byte[] json = objectMapper.writeValueAsBytes(fingerprint);
+        bodies.compute(mode, (key, cached) -> {
+            List<Body> updated = new ArrayList<>(cached == null ? List.of() : cached);
+            updated.add(new Body(fingerprint, json));
+            if (updated.size() > MAX_BODIES_PER_MODE) {
+                updated.removeFirst();
+            }
+            return List.copyOf(updated);
+        });
+        logger.debug("Cached request body for {} ({} bytes)", mode, json.length);
+        return json;
+    }
+
+    private record Body(Map<String, Object> settings, byte[] json) { }
+}
@@ -1,176 +1,366 @@
 package fr.rawz06.rslfrancobot.api.repositories;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.rawz06.rslfrancobot.config.PresetProperties;
 import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
 import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Repository;
+import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * Implementation of preset repository.
- * Loads presets from YAML and JSON files in resources/data.
+ * Loads presets from YAML and JSON files in resources/data, or from
+ * app.presets.directory when set.
+ * Returned presets are deeply immutable and shared by every request.
+ * With app.presets.watch=true, changed files are parsed again on a background
+ * thread and the presets built from them are swapped in atomically; a file that
+ * fails to load keeps the previous version of its preset.
+ * Startup, reloads and lazy loads run the same checks: option ids are unique,
+ * each option has a settings map, and incompatibilities name existing options.
+ * Files are parsed in parallel at startup, and a preset that fails to load stops
+ * the startup unless app.presets.fail-on-error=false. With app.presets.lazy=true,
+ * each preset is loaded on first use instead.
  */
 @Repository
 public class YamlPresetRepository implements PresetRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(YamlPresetRepository.class);
-    private final Map<String, Preset> presets = new HashMap<>();
+
+    /**
+     * Every preset and the files it is built from.
+     */
+    private static final List<PresetSource> SOURCES = List.of(
+            // Franco: base JSON file plus the user options from YAML
+            new PresetSource("franco", "franco.json", "franco.yaml"),
+            // RSL, PoT, Beginner: no base settings, everything is generated by Python script
+            new PresetSource("rsl", null, null),
+            new PresetSource("pot", null, null),
+            new PresetSource("beginner", null, null),
+            // Fixed settings, no user options
+            new PresetSource("s8", "s8.json", null),
+            new PresetSource("s9", "s9.json", null),
+            new PresetSource("allsanity", "allsanity.json", null),
+            new PresetSource("salad", "salad.json", null),
+            new PresetSource("tot", "tot.json", null),
+            new PresetSource("mixed", "mixed.json", null)
+    );
+
+    /**
+     * Known incompatibilities between Franco options, compiled into bitmasks with
+     * the preset (see OptionCompatibility).
+     */
+    private static final Map<String, List<String>> INCOMPATIBILITIES = Map.ofEntries(
+            Map.entry("keysy", List.of("keysanity_all", "keyring_all", "keyring_regional")),
+            Map.entry("keysanity_all", List.of("keysy", "keyring_all", "keyring_regional")),
+            Map.entry("keyring_all", List.of("keysy", "keysanity_all", "keyring_regional")),
+            Map.entry("keyring_regional", List.of("keysy", "keysanity_all", "keyring_all")),
+            Map.entry("token_dj", List.of("token_ow", "token_all")),
+            Map.entry("token_ow", List.of("token_dj", "token_all")),
+            Map.entry("token_all", List.of("token_dj", "token_ow")),
+            Map.entry("songsanity", List.of("songsanity_dungeon")),
+            Map.entry("songsanity_dungeon", List.of("songsanity")),
+            Map.entry("dungeon_er", List.of("dungeon_er_mixed")),
+            Map.entry("dungeon_er_mixed", List.of("dungeon_er")),
+            Map.entry("boss_souls", List.of("regional_souls", "souls")),
+            Map.entry("regional_souls", List.of("boss_souls", "souls")),
+            Map.entry("souls", List.of("boss_souls", "regional_souls")),
+            Map.entry("minimal", List.of("scarce")),
+            Map.entry("scarce", List.of("minimal")),
+            // All bridge options are mutually incompatible
+            Map.entry("bridge_6_med", List.of("bridge_4_med_bgk_6_med", "bridge_4_med_bgk_6_dj", "bridge_5_med_bgk_6_med", "bridge_5_med_bgk_6_dj", "bridge_1_stone", "bridge_2_stones", "bridge_3_stones", "bridge_vanilla", "bridge_5_dj", "bridge_6_dj", "bridge_7_dj", "bridge_8_dj", "bridge_9_dj")),
+            Map.entry("bridge_4_med_bgk_6_med", List.of("bridge_6_med", "bridge_4_med_bgk_6_dj", "bridge_5_med_bgk_6_med", "bridge_5_med_bgk_6_dj", "bridge_1_stone", "bridge_2_stones", "bridge_3_stones", "bridge_vanilla", "bridge_5_dj", "bridge_6_dj", "bridge_7_dj", "bridge_8_dj", "bridge_9_dj")),
+            Map.entry("bridge_4_med_bgk_6_dj", List.of("bridge_6_med", "bridge_4_med_bgk_6_med", "bridge_5_med_bgk_6_med", "bridge_5_med_bgk_6_dj", "bridge_1_stone", "bridge_2_stones", "bridge_3_stones", "bridge_vanilla", "bridge_5_dj", "bridge_6_dj", "bridge_7_dj", "bridge_8_dj", "bridge_9_dj")),
+            Map.entry("precompleted_1", List.of("precompleted_2", "precompleted_3")),
+            Map.entry("precompleted_2", List.of("precompleted_1", "precompleted_3")),
+            Map.entry("precompleted_3", List.of("precompleted_1", "precompleted_2"))
+    );
+
     private final ObjectMapper objectMapper;
+    private final PresetProperties properties;
+    private volatile Map<String, Preset> presets;
+    private final Map<String, CompletableFuture<Preset>> lazyLoads = new ConcurrentHashMap<>();
+    private WatchService watchService;
 
-    public YamlPresetRepository(ObjectMapper objectMapper) {
+    public YamlPresetRepository(ObjectMapper objectMapper, PresetProperties properties) {
         this.objectMapper = objectMapper;
-        loadPresets();
-    }
+        this.properties = properties;
+        if (properties.isLazy()) {
+            this.presets = Map.of();
+            logger.info("Presets will be loaded on first use");
+            return;
+        }
 
-    private void loadPresets() {
-        try {
-            loadFrancoPreset();
-            loadRSLPreset();
-            loadPoTPreset();
-            loadBeginnerPreset();
-            loadS8Preset();
-            loadS9Preset();
-            loadAllsanityPreset();
-            loadSaladPreset();
-            loadTotPreset();
-            loadMixedPreset();
-            logger.info("Presets loaded successfully: {}", presets.keySet());
-        } catch (Exception e) {
-            logger.error("Error loading presets", e);
+        LoadResult result = loadPresets(SOURCES, Map.of());
+        this.presets = result.presets();
+        if (!result.failures().isEmpty() && properties.isFailOnError()) {
+            IllegalStateException error = new IllegalStateException("Could not load presets: " + result.failures().keySet());
+            result.failures().values().forEach(error::addSuppressed);
+            throw error;
         }
+        logger.info("Presets loaded successfully: {}", presets.keySet());
     }
 
-    private void loadFrancoPreset() throws Exception {
-        // Load base JSON file
-        Map<String, Object> baseSettings = loadJsonFile("data/franco.json");
+    /**
+     * Loads the given presets in parallel, on top of the current ones.
+     * A preset that fails to load keeps its current version, if any.
+     */
+    private LoadResult loadPresets(Collection<PresetSource> sources, Map<String, Preset> current) {
+        long start = System.nanoTime();
+        Map<PresetSource, Future<LoadedPreset>> loads = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            sources.forEach(source -> loads.put(source, executor.submit(() -> loadPreset(source))));
+        }
 
-        // Load options from YAML
-        List<Preset.PresetOption> options = loadFrancoOptionsFromYaml();
+        Map<String, Preset> loaded = new HashMap<>(current);
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        List<String> timings = new ArrayList<>();
+        loads.forEach((source, load) -> {
+            if (load.state() == Future.State.SUCCESS) {
+                LoadedPreset result = load.resultNow();
+                loaded.put(source.name(), result.preset());
+                result.fileMillis().forEach((file, millis) -> timings.add(file + " " + millis + "ms"));
+            } else {
+                Throwable cause = load.exceptionNow();
+                failures.put(source.name(), cause);
+                logger.error("Error loading {} preset{}", source.name(),
+                        current.containsKey(source.name()) ? ", keeping the previous version" : "", cause);
+            }
+        });
 
-        Preset francoPreset = new Preset("franco", baseSettings, options);
-        presets.put("franco", francoPreset);
+        logger.info("Loaded {}/{} presets in {}ms ({})", sources.size() - failures.size(), sources.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), String.join(", ", timings));
+        return new LoadResult(Map.copyOf(loaded), failures);
     }
 
-    private void loadRSLPreset() {
-        // For RSL: no base settings, everything is generated by Python script
-        // The script uses weights/rsl_season7.json
-        try {
-            Preset rslPreset = new Preset("rsl", Map.of(), List.of());
-            presets.put("rsl", rslPreset);
-        } catch (Exception e) {
-            logger.error("Error loading RSL preset", e);
+    private LoadedPreset loadPreset(PresetSource source) throws Exception {
+        Map<String, Long> fileMillis = new LinkedHashMap<>();
+
+        long start = System.nanoTime();
+        Map<String, Object> baseSettings = Map.of();
+        if (source.settingsFile() != null) {
+            baseSettings = loadJsonFile(source.settingsFile());
+            fileMillis.put(source.settingsFile(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         }
+
+        start = System.nanoTime();
+        List<Preset.PresetOption> options = List.of();
+        if (source.optionsFile() != null) {
+            options = loadOptionsFromYaml(source.optionsFile());
+            fileMillis.put(source.optionsFile(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        checkIncompatibilities(source.optionsFile(), options);
+        return new LoadedPreset(new Preset(source.name(), baseSettings, options), fileMillis);
     }
 
-    private void loadPoTPreset() {
-        // For PoT: no base settings, everything is generated by Python script
-        // The script uses weights/rsl_pot.json
-        try {
-            Preset potPreset = new Preset("pot", Map.of(), List.of());
-            presets.put("pot", potPreset);
-        } catch (Exception e) {
-            logger.error("Error loading PoT preset", e);
+    /**
+     * Fails if an option is declared incompatible with an option the file does not define.
+     */
+    private static void checkIncompatibilities(String file, List<Preset.PresetOption> options) throws IOException {
+        Set<String> ids = new HashSet<>();
+        options.forEach(option -> ids.add(option.id()));
+        for (Preset.PresetOption option : options) {
+            for (String incompatibleId : option.incompatibleWith()) {
+                if (!ids.contains(incompatibleId)) {
+                    throw new IOException(file + ": option " + option.id()
+                            + " is incompatible with unknown option " + incompatibleId);
+                }
+            }
         }
     }
 
-    private void loadBeginnerPreset() {
-        // For Beginner: no base settings, everything is generated by Python script
-        // The script uses weights/rsl_season7_beginner.json
+    /**
+     * Loads a preset on first use (app.presets.lazy=true).
+     * Concurrent callers wait for the same load; a failed load is logged and
+     * tried again on the next call.
+     */
+    private Optional<Preset> loadLazily(String name) {
+        Optional<PresetSource> source = SOURCES.stream().filter(s -> s.name().equals(name)).findFirst();
+        if (source.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<Preset> load = new CompletableFuture<>();
+        CompletableFuture<Preset> inProgress = lazyLoads.putIfAbsent(name, load);
+        if (inProgress == null) {
+            try {
+                LoadedPreset result = loadPreset(source.get());
+                publish(result.preset());
+                logger.info("Loaded {} preset on first use ({})", name, result.fileMillis());
+                load.complete(result.preset());
+            } catch (Exception e) {
+                logger.error("Error loading {} preset", name, e);
+                load.completeExceptionally(e);
+            } finally {
+                lazyLoads.remove(name, load);
+            }
+        }
+
         try {
-            Preset beginnerPreset = new Preset("beginner", Map.of(), List.of());
-            presets.put("beginner", beginnerPreset);
-        } catch (Exception e) {
-            logger.error("Error loading Beginner preset", e);
+            return Optional.of((inProgress == null ? load : inProgress).join());
+        } catch (CompletionException e) {
+            return Optional.empty();
         }
     }
 
-    private void loadS8Preset() {
-        // For S8: fixed settings from s8.json, no user options
-        try {
-            Map<String, Object> baseSettings = loadJsonFile("data/s8.json");
-            Preset s8Preset = new Preset("s8", baseSettings, List.of());
-            presets.put("s8", s8Preset);
-        } catch (Exception e) {
-            logger.error("Error loading S8 preset", e);
+    private synchronized void publish(Preset preset) {
+        Map<String, Preset> updated = new HashMap<>(presets);
+        updated.put(preset.name(), preset);
+        presets = Map.copyOf(updated);
+    }
+
+    /**
+     * Starts watching app.presets.directory for changes.
+     */
+    @PostConstruct
+    public void startWatching() throws IOException {
+        if (!properties.isWatch()) {
+            return;
+        }
+        if (!isDirectoryMode()) {
+            logger.warn("app.presets.watch is enabled but app.presets.directory is not set, presets will not be reloaded");
+            return;
         }
+
+        Path directory = Path.of(properties.getDirectory());
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread watcher = new Thread(this::watch, "preset-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for preset changes", directory.toAbsolutePath());
     }
 
-    private void loadS9Preset() {
-        // For S9: fixed settings from s9.json, no user options
-        try {
-            Map<String, Object> baseSettings = loadJsonFile("data/s9.json");
-            Preset s9Preset = new Preset("s9", baseSettings, List.of());
-            presets.put("s9", s9Preset);
-        } catch (Exception e) {
-            logger.error("Error loading S9 preset", e);
+    @PreDestroy
+    public void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
         }
     }
 
-    private void loadTotPreset() {
-        // For Tot: fixed settings from tot.json, no user options
+    private void watch() {
         try {
-            Map<String, Object> baseSettings = loadJsonFile("data/tot.json");
-            Preset s9Preset = new Preset("tot", baseSettings, List.of());
-            presets.put("tot", s9Preset);
-        } catch (Exception e) {
-            logger.error("Error loading Tot preset", e);
+            while (true) {
+                Set<String> changed = new HashSet<>();
+                WatchKey key = watchService.take();
+                // Give the editor time to finish writing, and batch the events of a save
+                do {
+                    boolean overflow = collectChanges(key, changed);
+                    key.reset();
+                    if (overflow) {
+                        SOURCES.forEach(source -> changed.addAll(source.files()));
+                    }
+                    key = watchService.poll(properties.getReloadDelay().toMillis(), TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                reload(changed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
         }
     }
 
-    private void loadMixedPreset() {
-        // For Mixed: fixed settings from mixed.json, no user options
-        try {
-            Map<String, Object> baseSettings = loadJsonFile("data/mixed.json");
-            Preset mixedPreset = new Preset("mixed", baseSettings, List.of());
-            presets.put("mixed", mixedPreset);
-        } catch (Exception e) {
-            logger.error("Error loading Mixed preset", e);
+    /**
+     * Adds the names of the changed files, returns true if events were lost.
+     */
+    private boolean collectChanges(WatchKey key, Set<String> changed) {
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else if (event.context() instanceof Path file) {
+                changed.add(file.getFileName().toString());
+            }
         }
+        return overflow;
     }
 
-    private void loadSaladPreset() {
-        // For Salad: fixed settings from salad.json, no user options
-        try {
-            Map<String, Object> baseSettings = loadJsonFile("data/salad.json");
-            Preset s9Preset = new Preset("salad", baseSettings, List.of());
-            presets.put("salad", s9Preset);
-        } catch (Exception e) {
-            logger.error("Error loading Salad preset", e);
+    /**
+     * Parses the presets built from the changed files, then swaps them in.
+     * Requests in progress keep the preset instance they already got.
+     */
+    private void reload(Set<String> changedFiles) {
+        List<PresetSource> affected = SOURCES.stream()
+                .filter(source -> source.files().stream().anyMatch(changedFiles::contains))
+                .toList();
+        if (affected.isEmpty()) {
+            return;
+        }
+
+        logger.info("Preset files changed: {}, reloading {}", changedFiles,
+                affected.stream().map(PresetSource::name).toList());
+        synchronized (this) {
+            presets = loadPresets(affected, presets).presets();
         }
     }
 
-    private void loadAllsanityPreset() {
-        // For Allsanity: fixed settings from allsanity.json, no user options
-        try {
-            Map<String, Object> baseSettings = loadJsonFile("data/allsanity.json");
-            Preset allsanityPreset = new Preset("allsanity", baseSettings, List.of());
-            presets.put("allsanity", allsanityPreset);
-        } catch (Exception e) {
-            logger.error("Error loading Allsanity preset", e);
+    private boolean isDirectoryMode() {
+        return properties.getDirectory() != null && !properties.getDirectory().isBlank();
+    }
+
+    private InputStream open(String file) throws IOException {
+        if (isDirectoryMode()) {
+            return Files.newInputStream(Path.of(properties.getDirectory(), file));
         }
+        return new ClassPathResource("data/" + file).getInputStream();
     }
 
     @SuppressWarnings("unchecked")
-    private List<Preset.PresetOption> loadFrancoOptionsFromYaml() throws Exception {
-        Yaml yaml = new Yaml();
+    private List<Preset.PresetOption> loadOptionsFromYaml(String file) throws Exception {
+        // An option id declared twice is an error, not silently overwritten
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setAllowDuplicateKeys(false);
+        Yaml yaml = new Yaml(loaderOptions);
         List<Preset.PresetOption> options = new ArrayList<>();
 
-        try (InputStream inputStream = new ClassPathResource("data/franco.yaml").getInputStream()) {
-            Map<String, Map<String, Object>> yamlData = yaml.load(inputStream);
+        try (InputStream inputStream = open(file)) {
+            Map<String, Object> yamlData = yaml.load(inputStream);
+            if (yamlData == null || yamlData.isEmpty()) {
+                throw new IOException(file + " contains no options");
+            }
 
-            for (Map.Entry<String, Map<String, Object>> entry : yamlData.entrySet()) {
+            for (Map.Entry<String, Object> entry : yamlData.entrySet()) {
                 String optionId = entry.getKey();
-                Map<String, Object> optionData = entry.getValue();
+                if (!(entry.getValue() instanceof Map<?, ?> value)) {
+                    throw new IOException(file + ": option " + optionId + " is not a map");
+                }
+                Map<String, Object> optionData = (Map<String, Object>) value;
 
                 String label = (String) optionData.get("label");
                 String description = (String) optionData.get("description");
-                Map<String, Object> settingsToApply = (Map<String, Object>) optionData.get("settings");
+                if (!(optionData.get("settings") instanceof Map<?, ?> settings)) {
+                    throw new IOException(file + ": settings of option " + optionId + " is not a map");
+                }
+                Map<String, Object> settingsToApply = (Map<String, Object>) settings;
 
                 // Handle incompatibilities
                 List<String> incompatibleWith = detectIncompatibilities(optionId);
@@ -195,50 +385,44 @@ public class YamlPresetRepository implements PresetRepository {
      * Based on legacy SettingParser logic.
      */
     private List<String> detectIncompatibilities(String optionId) {
-        // List of known incompatibilities
-        Map<String, List<String>> incompatibilitiesMap = Map.ofEntries(
-                Map.entry("keysy", List.of("keysanity_all", "keyring_all", "keyring_regional")),
-                Map.entry("keysanity_all", List.of("keysy", "keyring_all", "keyring_regional")),
-                Map.entry("keyring_all", List.of("keysy", "keysanity_all", "keyring_regional")),
-                Map.entry("keyring_regional", List.of("keysy", "keysanity_all", "keyring_all")),
-                Map.entry("token_dj", List.of("token_ow", "token_all")),
-                Map.entry("token_ow", List.of("token_dj", "token_all")),
-                Map.entry("token_all", List.of("token_dj", "token_ow")),
-                Map.entry("songsanity", List.of("songsanity_dungeon")),
-                Map.entry("songsanity_dungeon", List.of("songsanity")),
-                Map.entry("dungeon_er", List.of("dungeon_er_mixed")),
-                Map.entry("dungeon_er_mixed", List.of("dungeon_er")),
-                Map.entry("boss_souls", List.of("regional_souls", "souls")),
-                Map.entry("regional_souls", List.of("boss_souls", "souls")),
-                Map.entry("souls", List.of("boss_souls", "regional_souls")),
-                Map.entry("minimal", List.of("scarce")),
-                Map.entry("scarce", List.of("minimal")),
-                // All bridge options are mutually incompatible
-                Map.entry("bridge_6_med", List.of("bridge_4_med_bgk_6_med", "bridge_4_med_bgk_6_dj", "bridge_5_med_bgk_6_med", "bridge_5_med_bgk_6_dj", "bridge_1_stone", "bridge_2_stones", "bridge_3_stones", "bridge_vanilla", "bridge_5_dj", "bridge_6_dj", "bridge_7_dj", "bridge_8_dj", "bridge_9_dj")),
-                Map.entry("bridge_4_med_bgk_6_med", List.of("bridge_6_med", "bridge_4_med_bgk_6_dj", "bridge_5_med_bgk_6_med", "bridge_5_med_bgk_6_dj", "bridge_1_stone", "bridge_2_stones", "bridge_3_stones", "bridge_vanilla", "bridge_5_dj", "bridge_6_dj", "bridge_7_dj", "bridge_8_dj", "bridge_9_dj")),
-                Map.entry("bridge_4_med_bgk_6_dj", List.of("bridge_6_med", "bridge_4_med_bgk_6_med", "bridge_5_med_bgk_6_med", "bridge_5_med_bgk_6_dj", "bridge_1_stone", "bridge_2_stones", "bridge_3_stones", "bridge_vanilla", "bridge_5_dj", "bridge_6_dj", "bridge_7_dj", "bridge_8_dj", "bridge_9_dj")),
-                Map.entry("precompleted_1", List.of("precompleted_2", "precompleted_3")),
-                Map.entry("precompleted_2", List.of("precompleted_1", "precompleted_3")),
-                Map.entry("precompleted_3", List.of("precompleted_1", "precompleted_2"))
-        );
-
-        return incompatibilitiesMap.getOrDefault(optionId, List.of());
+        return INCOMPATIBILITIES.getOrDefault(optionId, List.of());
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> loadJsonFile(String path) throws Exception {
-        try (InputStream inputStream = new ClassPathResource(path).getInputStream()) {
-            return objectMapper.readValue(inputStream, Map.class);
+    private Map<String, Object> loadJsonFile(String file) throws Exception {
+        try (InputStream inputStream = open(file)) {
+            Map<String, Object> settings = objectMapper.readValue(inputStream, Map.class);
+            if (settings == null || settings.isEmpty()) {
+                throw new IOException(file + " contains no settings");
+            }
+            return settings;
         }
     }
 
     @Override
     public Optional<Preset> getPreset(String name) {
-        return Optional.ofNullable(presets.get(name.toLowerCase()));
+        Preset preset = presets.get(name.toLowerCase());
+        if (preset == null && properties.isLazy()) {
+            return loadLazily(name.toLowerCase());
+        }
+        return Optional.ofNullable(preset);
     }
 
     @Override
     public boolean presetExists(String name) {
-        return presets.containsKey(name.toLowerCase());
+        return getPreset(name).isPresent();
+    }
+
+    private record LoadedPreset(Preset preset, Map<String, Long> fileMillis) { }
+
+    private record LoadResult(Map<String, Preset> presets, Map<String, Throwable> failures) { }
+
+    /**
+     * A preset and its files (null when the preset has no such file).
+     */
+    private record PresetSource(String name, String settingsFile, String optionsFile) {
+        List<String> files() {
+            return Stream.of(settingsFile, optionsFile).filter(Objects::nonNull).toList();
+        }
     }
 }
@@ -0,0 +1,152 @@
+package fr.rawz06.rslfrancobot.api.rsl;
+
+import fr.rawz06.rslfrancobot.config.RSLSettingsBufferProperties;
+import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RSLScriptRunner;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSLScriptRunner keeping a few settings rolled in advance for each preset.
+ * A generation takes ready settings when available and only falls back to the
+ * actual generator (Python script) when the buffer is empty.
+ * Buffers are topped up by a single background thread, so pre-rolling never
+ * uses more than one script slot.
+ * Each entry keeps the preset it was rolled from: once a preset is reloaded,
+ * the entries of the old version are dropped instead of being served.
+ */
+@Component
+@Primary
+public class BufferedRSLScriptRunner implements RSLScriptRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BufferedRSLScriptRunner.class);
+
+    private final RSLScriptRunner generator;
+    private final PresetRepository presetRepository;
+    private final RSLSettingsBufferProperties properties;
+    private final Map<String, Deque<Rolled>> buffers = new ConcurrentHashMap<>();
+    private final Set<String> refilling = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService refiller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rsl-settings-buffer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BufferedRSLScriptRunner(@Qualifier("rslSettingsGenerator") RSLScriptRunner generator,
+                                   PresetRepository presetRepository,
+                                   RSLSettingsBufferProperties properties) {
+        this.generator = generator;
+        this.presetRepository = presetRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public SettingsFile generateSettings(Preset preset, QueueListener queueListener) throws ScriptExecutionException {
+        if (isBuffered(preset.name())) {
+            Rolled ready = takeCurrent(preset);
+            scheduleRefill(preset.name());
+            if (ready != null) {
+                logger.info("Using pre-rolled {} settings", preset.name());
+                return ready.settings();
+            }
+            logger.info("No pre-rolled {} settings left, generating on demand", preset.name());
+        }
+        return generator.generateSettings(preset, queueListener);
+    }
+
+    /**
+     * Fills the buffers once the application is ready, then checks them periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        logger.info("RSL settings buffer enabled for {} (depth {})", properties.getPresets(), properties.getDepth());
+        long interval = properties.getRefreshInterval().toMillis();
+        refiller.scheduleWithFixedDelay(() -> properties.getPresets().forEach(this::scheduleRefill),
+                0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
+
+    private boolean isBuffered(String presetName) {
+        return properties.isEnabled() && properties.getPresets().contains(presetName);
+    }
+
+    private Deque<Rolled> buffer(String presetName) {
+        return buffers.computeIfAbsent(presetName, key -> new ConcurrentLinkedDeque<>());
+    }
+
+    /**
+     * Takes the oldest entry rolled from this preset instance, dropping those of older versions.
+     */
+    private Rolled takeCurrent(Preset preset) {
+        Rolled ready;
+        while ((ready = buffer(preset.name()).pollFirst()) != null && ready.preset() != preset) {
+            logger.debug("Dropped {} settings pre-rolled from a previous version of the preset", preset.name());
+        }
+        return ready;
+    }
+
+    private void scheduleRefill(String presetName) {
+        if (refilling.add(presetName)) {
+            refiller.execute(() -> {
+                try {
+                    refill(presetName);
+                } finally {
+                    refilling.remove(presetName);
+                }
+            });
+        }
+    }
+
+    private void refill(String presetName) {
+        Optional<Preset> preset = presetRepository.getPreset(presetName);
+        if (preset.isEmpty()) {
+            logger.warn("Preset {} not found, cannot pre-roll its settings", presetName);
+            return;
+        }
+
+        Deque<Rolled> buffer = buffer(presetName);
+        int before = buffer.size();
+        buffer.removeIf(rolled -> rolled.preset() != preset.get());
+        if (buffer.size() < before) {
+            logger.info("Preset {} changed, dropped {} pre-rolled settings", presetName, before - buffer.size());
+        }
+        while (buffer.size() < properties.getDepth() && !Thread.currentThread().isInterrupted()) {
+            try {
+                buffer.addLast(new Rolled(preset.get(), generator.generateSettings(preset.get(), QueueListener.NONE)));
+                logger.debug("Pre-rolled {} settings ({} ready)", presetName, buffer.size());
+            } catch (ScriptExecutionException e) {
+                // Retried on the next periodic check
+                logger.warn("Unable to pre-roll {} settings: {}", presetName, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private record Rolled(Preset preset, SettingsFile settings) { }
+}
@@ -17,6 +17,7 @@ public class AllCommandHandler {
         this.presenter = presenter;
     }
 
+    @InteractionRoute(type = InteractionRoute.Type.COMMAND, ids = "all")
     public void handle(DiscordInteraction interaction) {
         interaction.reply(presenter.presentModeAllSelection());
     }
@@ -13,6 +13,7 @@ public class InfoCommandHandler {
         this.presenter = presenter;
     }
 
+    @InteractionRoute(type = InteractionRoute.Type.COMMAND, ids = "info")
     public void handle(DiscordInteraction interaction) {
         interaction.reply(presenter.presentInfo());
     }
@@ -0,0 +1,34 @@
+package fr.rawz06.rslfrancobot.bot.handlers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the Discord interactions a handler method serves.
+ * The method takes a single DiscordInteraction; routes are collected from every
+ * bean at startup, so adding a mode only needs an annotated handler.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InteractionRoute {
+
+    Type type();
+
+    /**
+     * Slash command names, button ids or menu ids served as is.
+     */
+    String[] ids() default {};
+
+    /**
+     * Id prefixes served when no exact id matches (the longest matching prefix wins).
+     */
+    String[] prefixes() default {};
+
+    enum Type {
+        COMMAND,
+        BUTTON,
+        MENU
+    }
+}
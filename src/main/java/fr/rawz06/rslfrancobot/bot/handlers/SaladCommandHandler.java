@@ -17,6 +17,7 @@ public class SaladCommandHandler {
         this.presenter = presenter;
     }
 
+    @InteractionRoute(type = InteractionRoute.Type.COMMAND, ids = "salad")
     public void handle(DiscordInteraction interaction) {
         interaction.reply(presenter.presentModeSaladSelection());
     }
@@ -17,6 +17,7 @@ public class SeedCommandHandler {
         this.presenter = presenter;
     }
 
+    @InteractionRoute(type = InteractionRoute.Type.COMMAND, ids = "seed")
     public void handle(DiscordInteraction interaction) {
         interaction.reply(presenter.presentModeSelection(interaction.getUsername()));
     }
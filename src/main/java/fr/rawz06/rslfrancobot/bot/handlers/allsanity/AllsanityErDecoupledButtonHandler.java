@@ -1,5 +1,6 @@
 package fr.rawz06.rslfrancobot.bot.handlers.allsanity;
 
+import fr.rawz06.rslfrancobot.bot.handlers.InteractionRoute;
 import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
 import fr.rawz06.rslfrancobot.bot.presenters.SeedPresenter;
 import fr.rawz06.rslfrancobot.bot.services.SeedService;
@@ -24,6 +25,7 @@ public class AllsanityErDecoupledButtonHandler {
         this.presenter = presenter;
     }
 
+    @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "seed_allsanity_er_decoupled")
     public void handle(DiscordInteraction interaction) {
         try {
             // Defer immediately as generation takes time
@@ -33,7 +35,9 @@ public class AllsanityErDecoupledButtonHandler {
             SeedResult result = seedService.generateSeed(
                     SeedMode.ALLSANITY_ER_DECOUPLED,
                     interaction.getUserId(),
-                    Map.of()
+                    interaction.getGuildId(),
+                    Map.of(),
+                    presenter.queueListener(interaction)
             );
 
             // Send final result as channel message (persists after cleanup)
@@ -1,6 +1,8 @@
 package fr.rawz06.rslfrancobot.bot.handlers.franco;
 
+import fr.rawz06.rslfrancobot.bot.handlers.InteractionRoute;
 import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
+import fr.rawz06.rslfrancobot.bot.models.DiscordMessage;
 import fr.rawz06.rslfrancobot.bot.presenters.SeedPresenter;
 import fr.rawz06.rslfrancobot.bot.services.SeedService;
 import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
@@ -10,7 +12,7 @@ import java.util.List;
 
 /**
  * Handler for the Franco button.
- * Displays the Franco options selection menu.
+ * Displays the Franco options selection menu, or cancels it.
  */
 @Component
 public class FrancoButtonHandler {
@@ -23,6 +25,7 @@ public class FrancoButtonHandler {
         this.presenter = presenter;
     }
 
+    @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "seed_franco")
     public void handle(DiscordInteraction interaction) {
         try {
             List<Preset.PresetOption> options = seedService.getAvailableOptions("franco");
@@ -34,4 +37,11 @@ public class FrancoButtonHandler {
             interaction.reply(presenter.presentError("Unable to load Franco options: " + e.getMessage()));
         }
     }
+
+    @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "franco_cancel")
+    public void cancel(DiscordInteraction interaction) {
+        DiscordMessage message = new DiscordMessage("Generation cancelled.");
+        message.setEphemeral(true);
+        interaction.reply(message);
+    }
 }
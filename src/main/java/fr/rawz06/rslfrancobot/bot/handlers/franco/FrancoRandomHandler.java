@@ -1,39 +1,43 @@
 package fr.rawz06.rslfrancobot.bot.handlers.franco;
 
+import fr.rawz06.rslfrancobot.bot.handlers.InteractionRoute;
 import fr.rawz06.rslfrancobot.bot.models.DiscordButton;
 import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
 import fr.rawz06.rslfrancobot.bot.models.DiscordMessage;
 import fr.rawz06.rslfrancobot.bot.presenters.SeedPresenter;
 import fr.rawz06.rslfrancobot.bot.services.SeedService;
-import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
-import fr.rawz06.rslfrancobot.engine.domain.entities.ValidationResult;
-import fr.rawz06.rslfrancobot.engine.usecases.franco.ValidateSettingsUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Handler for Franco random option selection.
  * Randomly selects a specified number of compatible options and generates a seed.
+ * Each roll uses its own seeded generator, logged so that a selection can be reproduced.
  */
 @Component
 public class FrancoRandomHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(FrancoRandomHandler.class);
+    private static final String COUNT_BUTTON_PREFIX = "franco_random_";
+
     private final SeedService seedService;
     private final SeedPresenter presenter;
-    private final ValidateSettingsUseCase validateSettingsUseCase;
 
-    public FrancoRandomHandler(SeedService seedService, SeedPresenter presenter, ValidateSettingsUseCase validateSettingsUseCase) {
+    public FrancoRandomHandler(SeedService seedService, SeedPresenter presenter) {
         this.seedService = seedService;
         this.presenter = presenter;
-        this.validateSettingsUseCase = validateSettingsUseCase;
     }
 
     /**
      * Shows buttons to select number of random options.
      */
+    @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "franco_random")
     public void showNumberSelection(DiscordInteraction interaction) {
         DiscordMessage message = new DiscordMessage(
                 "🎲 How many random Franco options do you want?\n" +
@@ -54,6 +58,23 @@ public class FrancoRandomHandler {
         interaction.deleteOriginalMessage();
     }
 
+    /**
+     * Handles the count buttons ({@code franco_random_<count>}).
+     */
+    @InteractionRoute(type = InteractionRoute.Type.BUTTON, prefixes = COUNT_BUTTON_PREFIX)
+    public void handleCountButton(DiscordInteraction interaction) {
+        int count;
+        try {
+            count = Integer.parseInt(interaction.getCustomId().substring(COUNT_BUTTON_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            DiscordMessage message = new DiscordMessage("❌ Invalid number format.");
+            message.setEphemeral(true);
+            interaction.reply(message);
+            return;
+        }
+        handleWithCount(interaction, count);
+    }
+
     /**
      * Handles random selection with specified count.
      * Randomly selects compatible options and generates a seed.
@@ -67,11 +88,12 @@ public class FrancoRandomHandler {
                 return;
             }
 
-            // Get Franco preset and available options
-            List<Preset.PresetOption> allOptions = seedService.getAvailableOptions("franco");
-
-            // Randomly select compatible options
-            List<String> selectedOptions = selectRandomCompatibleOptions(allOptions, requestedCount);
+            // Randomly select compatible options (the roll seed is logged to reproduce a selection)
+            long rollSeed = ThreadLocalRandom.current().nextLong();
+            List<String> selectedOptions = seedService.selectRandomOptions(
+                    "franco", requestedCount, new SplittableRandom(rollSeed));
+            logger.info("Franco random roll for {}: {} options, seed {} -> {}",
+                    interaction.getUsername(), requestedCount, rollSeed, selectedOptions);
 
             // Convert to Map for SeedService
             Map<String, String> userSettings = new HashMap<>();
@@ -83,7 +105,9 @@ public class FrancoRandomHandler {
             SeedResult result = seedService.generateSeed(
                     SeedMode.FRANCO,
                     interaction.getUserId(),
-                    userSettings
+                    interaction.getGuildId(),
+                    userSettings,
+                    presenter.queueListener(interaction)
             );
 
             // Send final result as channel message (persists after cleanup)
@@ -95,62 +119,4 @@ public class FrancoRandomHandler {
             interaction.editDeferredReply(presenter.presentError(e.getMessage()));
         }
     }
-
-    /**
-     * Randomly selects compatible options from the available options.
-     * Ensures selected options are compatible with each other.
-     */
-    private List<String> selectRandomCompatibleOptions(List<Preset.PresetOption> allOptions, int count) {
-        List<String> selected = new ArrayList<>();
-        List<Preset.PresetOption> availableOptions = new ArrayList<>(allOptions);
-        Random random = new Random();
-
-        // Get Franco preset for validation
-        Preset francoPreset;
-        try {
-            francoPreset = seedService.getAvailableOptions("franco").isEmpty()
-                ? null
-                : new Preset("franco", Map.of(), allOptions);
-        } catch (Exception e) {
-            // Fallback: just randomly select without validation
-            Collections.shuffle(availableOptions);
-            return availableOptions.stream()
-                    .limit(Math.min(count, availableOptions.size()))
-                    .map(Preset.PresetOption::id)
-                    .toList();
-        }
-
-        int attempts = 0;
-        int maxAttempts = count * 100; // Prevent infinite loops
-
-        while (selected.size() < Math.min(count, availableOptions.size()) && attempts < maxAttempts) {
-            attempts++;
-
-            if (availableOptions.isEmpty()) {
-                break;
-            }
-
-            // Pick a random option
-            int randomIndex = random.nextInt(availableOptions.size());
-            Preset.PresetOption candidate = availableOptions.get(randomIndex);
-
-            // Try adding this option
-            List<String> testSelection = new ArrayList<>(selected);
-            testSelection.add(candidate.id());
-
-            // Validate compatibility
-            ValidationResult validation = validateSettingsUseCase.execute(francoPreset, testSelection);
-
-            if (validation.isValid()) {
-                // Option is compatible, add it
-                selected.add(candidate.id());
-                availableOptions.remove(randomIndex);
-            } else {
-                // Option is incompatible, remove it from candidates
-                availableOptions.remove(randomIndex);
-            }
-        }
-
-        return selected;
-    }
 }
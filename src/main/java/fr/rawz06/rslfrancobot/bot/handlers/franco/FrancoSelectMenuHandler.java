@@ -1,5 +1,6 @@
 package fr.rawz06.rslfrancobot.bot.handlers.franco;
 
+import fr.rawz06.rslfrancobot.bot.handlers.InteractionRoute;
 import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
 import org.springframework.stereotype.Component;
 
@@ -13,6 +14,7 @@ import java.util.List;
 @Component
 public class FrancoSelectMenuHandler {
 
+    @InteractionRoute(type = InteractionRoute.Type.MENU, prefixes = "franco_options_")
     public void handle(DiscordInteraction interaction) {
         List<String> selectedValues = interaction.getSelectedValues();
 
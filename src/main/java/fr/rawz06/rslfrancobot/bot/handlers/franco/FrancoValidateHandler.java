@@ -1,5 +1,6 @@
 package fr.rawz06.rslfrancobot.bot.handlers.franco;
 
+import fr.rawz06.rslfrancobot.bot.handlers.InteractionRoute;
 import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
 import fr.rawz06.rslfrancobot.bot.presenters.SeedPresenter;
 import fr.rawz06.rslfrancobot.bot.services.SeedService;
@@ -26,6 +27,7 @@ public class FrancoValidateHandler {
         this.presenter = presenter;
     }
 
+    @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "franco_validate")
     public void handle(DiscordInteraction interaction) {
         // Defer immediately to avoid Discord timeout
         interaction.defer();
@@ -49,7 +51,9 @@ public class FrancoValidateHandler {
             SeedResult result = seedService.generateSeed(
                     SeedMode.FRANCO,
                     interaction.getUserId(),
-                    userSettings
+                    interaction.getGuildId(),
+                    userSettings,
+                    presenter.queueListener(interaction)
             );
 
             // Send final result as channel message (persists after cleanup)
@@ -1,5 +1,6 @@
 package fr.rawz06.rslfrancobot.bot.handlers.rsl;
 
+import fr.rawz06.rslfrancobot.bot.handlers.InteractionRoute;
 import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
 import fr.rawz06.rslfrancobot.bot.presenters.SeedPresenter;
 import fr.rawz06.rslfrancobot.bot.services.SeedService;
@@ -23,6 +24,7 @@ public class RSLS8ButtonHandler {
         this.presenter = presenter;
     }
 
+    @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "seed_rsl_s8")
     public void handle(DiscordInteraction interaction) {
         try {
             interaction.defer();
@@ -30,7 +32,9 @@ public class RSLS8ButtonHandler {
             SeedResult result = seedService.generateSeed(
                     SeedMode.RSL_SEASON8,
                     interaction.getUserId(),
-                    Map.of()
+                    interaction.getGuildId(),
+                    Map.of(),
+                    presenter.queueListener(interaction)
             );
 
             interaction.sendChannelMessage(presenter.presentSeedResult(result, "S8 (RSL)", interaction.getUsername()));
@@ -2,10 +2,13 @@ package fr.rawz06.rslfrancobot.bot.models;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an abstract Discord interaction.
  * Decoupled from JDA, allows testing handlers without depending on Discord.
+ * Calls on a deferred response do not block: they are sent in order once Discord
+ * has acknowledged the interaction, and the returned futures complete when Discord answers.
  */
 public interface DiscordInteraction {
     /**
@@ -23,6 +26,11 @@ public interface DiscordInteraction {
      */
     String getChannelId();
 
+    /**
+     * @return The Discord server ID, null outside of a server (direct messages)
+     */
+    String getGuildId();
+
     /**
      * @return Values selected in a menu (if applicable)
      */
@@ -46,8 +54,11 @@ public interface DiscordInteraction {
     /**
      * Defers the response (displays "Bot is thinking...").
      * Used when processing will take time.
+     * Returns immediately; following edits wait for the acknowledgment.
+     * The future fails if Discord refused the acknowledgment (e.g. the interaction
+     * expired); the edits made afterwards then fail with the same cause, unsent.
      */
-    void defer();
+    CompletableFuture<Void> defer();
 
     /**
      * Acknowledges the interaction silently without displaying any message.
@@ -56,9 +67,9 @@ public interface DiscordInteraction {
     void acknowledgeSelect();
 
     /**
-     * Edits the deferred response after a defer().
+     * Edits the deferred response after a defer(), once the previous edits are done.
      */
-    void editDeferredReply(DiscordMessage message);
+    CompletableFuture<Void> editDeferredReply(DiscordMessage message);
 
     /**
      * Sends a file in response.
@@ -66,12 +77,14 @@ public interface DiscordInteraction {
     void sendFile(String filename, byte[] content, String mimeType);
 
     /**
-     * Temporarily stores data for this user.
+     * Temporarily stores data for this user, shared with the other interactions
+     * on the same message (e.g. the menus and buttons of one Franco menu).
+     * Data not used for a while is dropped.
      */
     void storeUserData(String key, Object value);
 
     /**
-     * Retrieves stored data for this user.
+     * Retrieves stored data for this user on this message.
      */
     <T> T getUserData(String key, Class<T> type);
 
@@ -84,11 +97,11 @@ public interface DiscordInteraction {
      * Deletes the original message that triggered this interaction.
      * Useful for cleaning up intermediate messages after final result.
      */
-    void deleteOriginalMessage();
+    CompletableFuture<Void> deleteOriginalMessage();
 
     /**
      * Sends a new message in the channel (not as interaction reply).
      * Used to send final results that persist after cleaning up interaction messages.
      */
-    void sendChannelMessage(DiscordMessage message);
+    CompletableFuture<Void> sendChannelMessage(DiscordMessage message);
 }
@@ -1,10 +1,12 @@
 package fr.rawz06.rslfrancobot.bot.presenters;
 
 import fr.rawz06.rslfrancobot.bot.models.DiscordButton;
+import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
 import fr.rawz06.rslfrancobot.bot.models.DiscordMessage;
 import fr.rawz06.rslfrancobot.bot.models.DiscordSelectMenu;
 import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
 import fr.rawz06.rslfrancobot.engine.usecases.visibility.GetUserAvailableGenerateUseCase;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -162,8 +164,27 @@ public class SeedPresenter {
     }
 
     /**
-     * Presents an error message.
+     * Presents the position of a generation waiting in a queue, worded for what it waits for.
+     */
+    public DiscordMessage presentQueuePosition(QueueListener.Queue queue, int position) {
+        String reason = switch (queue) {
+            case RANDOMIZER_API -> "The randomizer is busy";
+            case RSL_SCRIPT -> "Lots of RSL settings are being rolled right now";
+            case FAIR_SHARE -> "Lots of seeds are being generated right now (they are shared fairly between players)";
+        };
+        return new DiscordMessage(String.format(
+                "⏳ %s, yours is #%d in the queue. It will start automatically.", reason, position));
+    }
+
+    /**
+     * Queue listener showing the queue position in the deferred reply of the interaction.
      */
+    public QueueListener queueListener(DiscordInteraction interaction) {
+        return (queue, position) -> interaction.editDeferredReply(presentQueuePosition(queue, position));
+    }
+
+    /**
+     * Presents an error message.
     public DiscordMessage presentError(String errorMessage) {
         return new DiscordMessage("❌ Error: " + errorMessage);
     }
@@ -0,0 +1,211 @@
+package fr.rawz06.rslfrancobot.bot.services;
+
+import fr.rawz06.rslfrancobot.config.SeedPoolProperties;
+import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Seeds generated in advance for the modes whose settings never change (S8, S9, ToT, ...).
+ * A click on one of these modes takes a ready seed instead of waiting for the randomizer;
+ * the pool is then refilled in the background, one generation at a time so the
+ * pre-generation never competes much with interactive requests.
+ * Each seed keeps the preset it was generated from: when a preset is reloaded,
+ * the seeds of the old version are dropped instead of being served.
+ * A failed generation stops the refill of its mode until the next refresh.
+ */
+@Component
+public class SeedPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedPool.class);
+
+    private final SeedPoolProperties properties;
+    private final Map<SeedMode, Deque<PooledSeed>> pools = new EnumMap<>(SeedMode.class);
+    private final Map<SeedMode, Integer> pending = new EnumMap<>(SeedMode.class);
+    private final Deque<SeedMode> refillQueue = new ArrayDeque<>();
+    // Modes whose last generation failed, not refilled again before the next refresh
+    private final Set<SeedMode> failing = EnumSet.noneOf(SeedMode.class);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seed-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Function<SeedMode, CompletableFuture<SeedResult>> generator;
+    private Function<SeedMode, Preset> presets;
+    private boolean refilling;
+
+    public SeedPool(SeedPoolProperties properties) {
+        this.properties = properties;
+    }
+
+    private record PooledSeed(SeedResult result, Preset preset, Instant generatedAt) { }
+
+    public boolean isPooled(SeedMode mode) {
+        return properties.isEnabled() && properties.getModes().contains(mode);
+    }
+
+    /**
+     * Starts filling the pools with the given generator.
+     * The generator must not read from the pool itself.
+     *
+     * @param presets current preset of a mode (null if it has none); pooled seeds
+     *                are only served while it is the same instance
+     */
+    public void start(Function<SeedMode, CompletableFuture<SeedResult>> generator,
+                      Function<SeedMode, Preset> presets) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            this.generator = generator;
+            this.presets = presets;
+        }
+        logger.info("Seed pool enabled for {} (depth {}, ttl {})",
+                properties.getModes(), properties.getDepth(), properties.getTtl());
+        long interval = properties.getRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes a ready seed for this mode, if any, and schedules its replacement.
+     */
+    public Optional<SeedResult> take(SeedMode mode) {
+        if (!isPooled(mode)) {
+            return Optional.empty();
+        }
+        PooledSeed seed;
+        synchronized (this) {
+            evictStale(mode);
+            seed = pool(mode).pollFirst();
+            if (!failing.contains(mode)) {
+                scheduleRefill(mode);
+            }
+        }
+        pump();
+
+        if (seed == null) {
+            logger.info("Seed pool empty for {}, generating on demand", mode);
+            return Optional.empty();
+        }
+        logger.info("Serving pre-generated {} seed: {}", mode, seed.result().seedUrl());
+        return Optional.of(seed.result());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Discards expired and outdated seeds and tops up every pool.
+     * Also retries the modes whose generation failed since the previous run.
+     */
+    private void refresh() {
+        synchronized (this) {
+            failing.clear();
+            for (SeedMode mode : properties.getModes()) {
+                evictStale(mode);
+                scheduleRefill(mode);
+            }
+        }
+        pump();
+    }
+
+    private Deque<PooledSeed> pool(SeedMode mode) {
+        return pools.computeIfAbsent(mode, key -> new ArrayDeque<>());
+    }
+
+    private void evictStale(SeedMode mode) {
+        Deque<PooledSeed> pool = pool(mode);
+        if (presets != null && !pool.isEmpty()) {
+            Preset current = presets.apply(mode);
+            int before = pool.size();
+            pool.removeIf(seed -> seed.preset() != current);
+            if (pool.size() < before) {
+                logger.info("Preset of {} changed, dropped {} pooled seeds", mode, before - pool.size());
+            }
+        }
+        Instant limit = Instant.now().minus(properties.getTtl());
+        pool.removeIf(seed -> seed.generatedAt().isBefore(limit));
+    }
+
+    private void scheduleRefill(SeedMode mode) {
+        int missing = properties.getDepth() - pool(mode).size() - pending.getOrDefault(mode, 0);
+        for (int i = 0; i < missing; i++) {
+            refillQueue.addLast(mode);
+            pending.merge(mode, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Starts the next queued generation if none is running.
+     */
+    private void pump() {
+        SeedMode mode;
+        Function<SeedMode, CompletableFuture<SeedResult>> currentGenerator;
+        Function<SeedMode, Preset> currentPresets;
+        synchronized (this) {
+            if (generator == null || refilling || refillQueue.isEmpty()) {
+                return;
+            }
+            refilling = true;
+            mode = refillQueue.pollFirst();
+            currentGenerator = generator;
+            currentPresets = presets;
+        }
+
+        CompletableFuture<SeedResult> generation;
+        // Taken before generating: a reload during the generation makes the seed outdated
+        Preset preset = null;
+        try {
+            preset = currentPresets.apply(mode);
+            generation = currentGenerator.apply(mode);
+        } catch (Exception e) {
+            generation = CompletableFuture.failedFuture(e);
+        }
+        Preset generatedFrom = preset;
+        generation.whenComplete((result, error) -> {
+            int ready;
+            synchronized (this) {
+                refilling = false;
+                if (error == null) {
+                    pending.merge(mode, -1, Integer::sum);
+                    pool(mode).addLast(new PooledSeed(result, generatedFrom, Instant.now()));
+                } else {
+                    // The other queued generations of this mode would most likely fail the same way:
+                    // dropped until the next refresh, so a broken version is tried once per refresh
+                    refillQueue.removeIf(queued -> queued == mode);
+                    pending.remove(mode);
+                    failing.add(mode);
+                }
+                ready = pool(mode).size();
+            }
+            if (error != null) {
+                logger.warn("Seed pool generation failed for {}, retrying at the next refresh: {}",
+                        mode, error.getMessage());
+            } else {
+                logger.debug("Seed pool: {} ready for {}", ready, mode);
+            }
+            pump();
+        });
+    }
+}
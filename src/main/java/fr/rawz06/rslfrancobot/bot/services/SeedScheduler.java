@@ -0,0 +1,365 @@
+package fr.rawz06.rslfrancobot.bot.services;
+
+import fr.rawz06.rslfrancobot.config.SeedSchedulerProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Shares seed generations fairly between users and Discord servers.
+ * A generation starts only while its user and its server are under their caps
+ * (and the total under the global one). Waiting generations are served in turn,
+ * one per user and per round, so a user clicking ten buttons does not hold back
+ * the others; each waiting generation is told its position through its QueueListener.
+ * Blocking callers wait on their thread (see {@link #acquire}), asynchronous ones
+ * get a future completed once their generation may start (see {@link #acquireAsync}).
+ */
+@Component
+public class SeedScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedScheduler.class);
+
+    private final SeedSchedulerProperties properties;
+    // Runs the asynchronous generations once granted, outside of the scheduler lock
+    private final Executor grants = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("seed-scheduler-", 0).factory());
+    // Gives up asynchronous generations still waiting after maxWait
+    private final ScheduledThreadPoolExecutor timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "seed-scheduler-timeouts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Waiting generations of each user, oldest first
+    private final Map<String, Deque<Waiter>> waiting = new HashMap<>();
+    // Users with waiting generations, the next one to serve first
+    private final Deque<String> turns = new ArrayDeque<>();
+    private final Map<String, Integer> runningPerUser = new HashMap<>();
+    private final Map<String, Integer> runningPerGuild = new HashMap<>();
+    private int running;
+    private int queueDepth;
+    private int peakQueueDepth;
+    private long totalQueued;
+    private long totalWaitMillis;
+    private long rejected;
+
+    public SeedScheduler(SeedSchedulerProperties properties) {
+        this.properties = properties;
+        // Timers of granted generations are cancelled, drop them from the queue right away
+        timeouts.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Scheduler state, for logs and diagnostics.
+     */
+    public record Stats(int running, int queueDepth, int waitingUsers, int peakQueueDepth,
+                        long totalQueued, long rejected, long averageWaitMillis) { }
+
+    /**
+     * Waits until the generation may start. The returned slot must be closed once
+     * the generation is over.
+     *
+     * @param guildId Discord server of the request, null outside of a server
+     */
+    public Slot acquire(String userId, String guildId, QueueListener listener) throws SchedulingException {
+        if (!properties.isEnabled()) {
+            return new Slot(null, null);
+        }
+
+        Waiter waiter = enqueue(userId, guildId, listener);
+        try {
+            waiter.granted.get(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(waiter, "Seed generation interrupted");
+        } catch (TimeoutException e) {
+            abandon(waiter, "Timed out waiting for a free generation slot");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+        return new Slot(userId, guildId);
+    }
+
+    /**
+     * Asynchronous variant of {@link #acquire}: the future completes once the
+     * generation may start, or fails with a SchedulingException. The slot must be
+     * closed once the generation is over.
+     */
+    public CompletableFuture<Slot> acquireAsync(String userId, String guildId, QueueListener listener) {
+        if (!properties.isEnabled()) {
+            return CompletableFuture.completedFuture(new Slot(null, null));
+        }
+
+        Waiter waiter;
+        try {
+            waiter = enqueue(userId, guildId, listener);
+        } catch (SchedulingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Slot slot = new Slot(userId, guildId);
+        if (waiter.granted.isDone()) {
+            return CompletableFuture.completedFuture(slot);
+        }
+
+        CompletableFuture<Slot> result = waiter.granted.thenApplyAsync(ignored -> slot, grants);
+        ScheduledFuture<?> timeout = timeouts.schedule(() -> {
+            try {
+                abandon(waiter, "Timed out waiting for a free generation slot");
+            } catch (SchedulingException e) {
+                result.completeExceptionally(e);
+            }
+        }, properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        // Granted in time: the timer must not stay queued until maxWait
+        waiter.granted.whenComplete((ignored, e) -> timeout.cancel(false));
+        return result;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(running, queueDepth, waiting.size(), peakQueueDepth, totalQueued, rejected,
+                totalQueued == 0 ? 0 : totalWaitMillis / totalQueued);
+    }
+
+    /**
+     * Adds a waiting generation and starts it right away if it fits under the caps.
+     */
+    private Waiter enqueue(String userId, String guildId, QueueListener listener) throws SchedulingException {
+        Waiter waiter = new Waiter(userId, guildId, listener);
+        List<Notification> notifications;
+        int position;
+        synchronized (this) {
+            Deque<Waiter> userQueue = waiting.get(userId);
+            if (userQueue != null && userQueue.size() >= properties.getMaxQueuedPerUser()) {
+                rejected++;
+                throw new SchedulingException("You already have " + userQueue.size()
+                        + " seeds waiting, please wait for them to start");
+            }
+            if (userQueue == null) {
+                userQueue = new ArrayDeque<>();
+                waiting.put(userId, userQueue);
+                turns.addLast(userId);
+            }
+            userQueue.addLast(waiter);
+            queueDepth++;
+
+            dispatch();
+            if (waiter.granted.isDone()) {
+                return waiter;
+            }
+
+            totalQueued++;
+            peakQueueDepth = Math.max(peakQueueDepth, queueDepth);
+            notifications = positionChanges();
+            position = waiter.position;
+        }
+
+        logger.info("Seed scheduler: {} waiting at position {} ({})", userId, position, stats());
+        notifyPositions(notifications);
+        return waiter;
+    }
+
+    /**
+     * Gives up a waiting generation, unless its slot was handed over meanwhile.
+     *
+     * @throws SchedulingException with the given reason if the generation was given up
+     */
+    private void abandon(Waiter waiter, String reason) throws SchedulingException {
+        List<Notification> notifications;
+        synchronized (this) {
+            if (waiter.granted.isDone()) {
+                return;
+            }
+            removeWaiting(waiter);
+            rejected++;
+            notifications = positionChanges();
+        }
+        notifyPositions(notifications);
+        throw new SchedulingException(reason);
+    }
+
+    private void release(Slot slot) {
+        List<Notification> notifications;
+        synchronized (this) {
+            running--;
+            decrement(runningPerUser, slot.userId);
+            if (slot.guildId != null) {
+                decrement(runningPerGuild, slot.guildId);
+            }
+            dispatch();
+            notifications = positionChanges();
+        }
+        notifyPositions(notifications);
+    }
+
+    /**
+     * Starts every waiting generation that fits under the caps, one per user and
+     * per round. Users served in a round go to the back of the turns; the others
+     * keep their place.
+     */
+    private void dispatch() {
+        boolean started = true;
+        while (started && running < properties.getMaxConcurrent()) {
+            started = false;
+            List<String> served = new ArrayList<>();
+            Iterator<String> iterator = turns.iterator();
+            while (iterator.hasNext() && running < properties.getMaxConcurrent()) {
+                String userId = iterator.next();
+                Deque<Waiter> userQueue = waiting.get(userId);
+                Waiter next = userQueue.peekFirst();
+                if (!canStart(next)) {
+                    continue;
+                }
+                iterator.remove();
+                userQueue.pollFirst();
+                start(next);
+                started = true;
+                if (userQueue.isEmpty()) {
+                    waiting.remove(userId);
+                } else {
+                    served.add(userId);
+                }
+            }
+            turns.addAll(served);
+        }
+    }
+
+    private boolean canStart(Waiter waiter) {
+        return runningPerUser.getOrDefault(waiter.userId, 0) < properties.getMaxPerUser()
+                && (waiter.guildId == null
+                    || runningPerGuild.getOrDefault(waiter.guildId, 0) < properties.getMaxPerGuild());
+    }
+
+    private void start(Waiter waiter) {
+        running++;
+        runningPerUser.merge(waiter.userId, 1, Integer::sum);
+        if (waiter.guildId != null) {
+            runningPerGuild.merge(waiter.guildId, 1, Integer::sum);
+        }
+        queueDepth--;
+        if (waiter.position > 0) {
+            totalWaitMillis += (System.nanoTime() - waiter.queuedAt) / 1_000_000;
+        }
+        waiter.granted.complete(null);
+    }
+
+    private void removeWaiting(Waiter waiter) {
+        Deque<Waiter> userQueue = waiting.get(waiter.userId);
+        if (userQueue != null && userQueue.remove(waiter)) {
+            queueDepth--;
+            if (userQueue.isEmpty()) {
+                waiting.remove(waiter.userId);
+                turns.remove(waiter.userId);
+            }
+        }
+    }
+
+    /**
+     * Positions in serving order: the k-th waiting generation of a user comes after
+     * the first k generations of the users behind it in the turns, and the first k+1
+     * of the users ahead of it.
+     */
+    private List<Notification> positionChanges() {
+        List<Notification> notifications = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>(turns.size());
+        for (String userId : turns) {
+            sizes.add(waiting.get(userId).size());
+        }
+
+        int turn = 0;
+        for (String userId : turns) {
+            int k = 0;
+            for (Waiter waiter : waiting.get(userId)) {
+                int ahead = k;
+                for (int other = 0; other < sizes.size(); other++) {
+                    if (other != turn) {
+                        ahead += Math.min(sizes.get(other), other < turn ? k + 1 : k);
+                    }
+                }
+                if (waiter.position != ahead + 1) {
+                    waiter.position = ahead + 1;
+                    notifications.add(new Notification(waiter.listener, waiter.position));
+                }
+                k++;
+            }
+            turn++;
+        }
+        return notifications;
+    }
+
+    private static void decrement(Map<String, Integer> counts, String key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static void notifyPositions(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            try {
+                notification.listener().onQueued(QueueListener.Queue.FAIR_SHARE, notification.position());
+            } catch (Exception e) {
+                logger.warn("Queue listener failed", e);
+            }
+        }
+    }
+
+    private record Notification(QueueListener listener, int position) { }
+
+    private static final class Waiter {
+        private final String userId;
+        private final String guildId;
+        private final QueueListener listener;
+        private final CompletableFuture<Void> granted = new CompletableFuture<>();
+        private final long queuedAt = System.nanoTime();
+        private int position;
+
+        private Waiter(String userId, String guildId, QueueListener listener) {
+            this.userId = userId;
+            this.guildId = guildId;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * A started generation; closing it lets the next waiting one start.
+     */
+    public final class Slot implements AutoCloseable {
+        private final String userId;
+        private final String guildId;
+        private boolean released;
+
+        private Slot(String userId, String guildId) {
+            this.userId = userId;
+            this.guildId = guildId;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (userId == null || released) {
+                    return;
+                }
+                released = true;
+            }
+            release(this);
+        }
+    }
+
+    public static class SchedulingException extends Exception {
+        public SchedulingException(String message) {
+            super(message);
+        }
+    }
+}
@@ -5,8 +5,11 @@ import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedRequest;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
 import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
 import fr.rawz06.rslfrancobot.engine.usecases.allsanity.GenerateAllsanitySeedUseCase;
 import fr.rawz06.rslfrancobot.engine.usecases.franco.GenerateFrancoSeedUseCase;
+import fr.rawz06.rslfrancobot.engine.usecases.franco.SelectRandomOptionsUseCase;
 import fr.rawz06.rslfrancobot.engine.usecases.rsl.GenerateRSLSeedFromAPIUseCase;
 import fr.rawz06.rslfrancobot.engine.usecases.rsl.GenerateRSLSeedUseCase;
 import fr.rawz06.rslfrancobot.engine.usecases.mixed.GenerateMixedSeedUseCase;
@@ -15,10 +18,17 @@ import fr.rawz06.rslfrancobot.engine.usecases.s9.GenerateS9SeedUseCase;
 import fr.rawz06.rslfrancobot.engine.usecases.salad.GenerateSaladSeedUseCase;
 import fr.rawz06.rslfrancobot.engine.usecases.tot.GenerateTotSeedUseCase;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
 
 /**
  * Application service that coordinates domain use cases.
@@ -28,6 +38,9 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SeedService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SeedService.class);
+    private static final String SEED_POOL_USER = "seed-pool";
+
     private final GenerateFrancoSeedUseCase generateFrancoSeedUseCase;
     private final GenerateRSLSeedUseCase generateRSLSeedUseCase;
     private final GenerateRSLSeedFromAPIUseCase generateRSLSeedFromAPIUseCase;
@@ -38,13 +51,49 @@ public class SeedService {
     private final PresetRepository presetRepository;
     private final GenerateTotSeedUseCase generateTotSeedUseCase;
     private final GenerateMixedSeedUseCase generateMixedSeedUseCase;
+    private final SelectRandomOptionsUseCase selectRandomOptionsUseCase;
+    private final SeedPool seedPool;
+    private final SeedScheduler seedScheduler;
 
     /**
      * Generates a seed according to the requested mode.
      */
     public SeedResult generateSeed(SeedMode mode, String userId, Map<String, String> userSettings) throws SeedGenerationException {
-        SeedRequest request = new SeedRequest(mode, userId, userSettings);
+        return generateSeed(mode, userId, userSettings, QueueListener.NONE);
+    }
+
+    /**
+     * Generates a seed according to the requested mode.
+     * The listener is told the queue position if the randomizer API is rate limited.
+     */
+    public SeedResult generateSeed(SeedMode mode, String userId, Map<String, String> userSettings,
+                                   QueueListener queueListener) throws SeedGenerationException {
+        return generateSeed(mode, userId, null, userSettings, queueListener);
+    }
+
+    /**
+     * Generates a seed according to the requested mode, waiting for a fair share of the
+     * generations (see {@link SeedScheduler}) unless a pooled seed is ready.
+     * The listener is told the queue position while the generation waits.
+     *
+     * @param guildId Discord server of the request, null outside of a server
+     */
+    public SeedResult generateSeed(SeedMode mode, String userId, String guildId, Map<String, String> userSettings,
+                                   QueueListener queueListener) throws SeedGenerationException {
+        Optional<SeedResult> pooled = takePooledSeed(mode, userSettings);
+        if (pooled.isPresent()) {
+            return pooled.get();
+        }
+
+        try (SeedScheduler.Slot slot = seedScheduler.acquire(userId, guildId, queueListener)) {
+            return generateFreshSeed(new SeedRequest(mode, userId, userSettings, queueListener));
+        } catch (SeedScheduler.SchedulingException e) {
+            throw new SeedGenerationException(e.getMessage(), e);
+        }
+    }
 
+    private SeedResult generateFreshSeed(SeedRequest request) throws SeedGenerationException {
+        SeedMode mode = request.mode();
         try {
             return switch (mode) {
                 case FRANCO -> generateFrancoSeedUseCase.execute(request);
@@ -67,6 +116,119 @@ public class SeedService {
         }
     }
 
+    /**
+     * Generates a seed according to the requested mode without blocking on the randomizer API.
+     * The returned future fails with a SeedGenerationException if generation fails.
+     */
+    public CompletableFuture<SeedResult> generateSeedAsync(SeedMode mode, String userId, Map<String, String> userSettings) {
+        return generateSeedAsync(mode, userId, userSettings, QueueListener.NONE);
+    }
+
+    /**
+     * Asynchronous variant of {@link #generateSeed(SeedMode, String, Map, QueueListener)}.
+     */
+    public CompletableFuture<SeedResult> generateSeedAsync(SeedMode mode, String userId, Map<String, String> userSettings,
+                                                           QueueListener queueListener) {
+        return generateSeedAsync(mode, userId, null, userSettings, queueListener);
+    }
+
+    /**
+     * Asynchronous variant of {@link #generateSeed(SeedMode, String, String, Map, QueueListener)}:
+     * the generation waits for its fair share without holding a thread, and its slot
+     * is released once it completes.
+     */
+    public CompletableFuture<SeedResult> generateSeedAsync(SeedMode mode, String userId, String guildId,
+                                                           Map<String, String> userSettings, QueueListener queueListener) {
+        Optional<SeedResult> pooled = takePooledSeed(mode, userSettings);
+        if (pooled.isPresent()) {
+            return CompletableFuture.completedFuture(pooled.get());
+        }
+
+        SeedRequest request = new SeedRequest(mode, userId, userSettings, queueListener);
+        return AsyncFailures.wrap(seedScheduler.acquireAsync(userId, guildId, queueListener),
+                        cause -> new SeedGenerationException(cause.getMessage(), cause))
+                .thenCompose(slot -> {
+                    CompletableFuture<SeedResult> generation;
+                    try {
+                        generation = generateFreshSeedAsync(request);
+                    } catch (RuntimeException e) {
+                        generation = CompletableFuture.failedFuture(e);
+                    }
+                    return generation.whenComplete((result, error) -> slot.close());
+                });
+    }
+
+    /**
+     * Computes the settings of the fixed Salad and Allsanity modes once at startup,
+     * instead of on the first click of each mode.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precomputeSettings() {
+        try {
+            generateSaladSeedUseCase.precompute();
+            generateAllsanitySeedUseCase.precompute();
+            logger.info("Salad and Allsanity settings precomputed");
+        } catch (GenerateSaladSeedUseCase.GenerationException | GenerateAllsanitySeedUseCase.GenerationException e) {
+            logger.warn("Could not precompute settings, they will be computed on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the background pre-generation once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSeedPool() {
+        seedPool.start(mode -> generateFreshSeedAsync(new SeedRequest(mode, SEED_POOL_USER, Map.of())),
+                mode -> presetName(mode).flatMap(presetRepository::getPreset).orElse(null));
+    }
+
+    /**
+     * Preset a mode is generated from; the remote RSL modes have none.
+     */
+    private static Optional<String> presetName(SeedMode mode) {
+        return Optional.ofNullable(switch (mode) {
+            case FRANCO -> "franco";
+            case RSL -> "rsl";
+            case POT -> "pot";
+            case BEGINNER -> "beginner";
+            case RSL_SEASON8, ROT -> null;
+            case S8 -> "s8";
+            case S9 -> "s9";
+            case ALLSANITY_ER_DECOUPLED, ALLSANITY_ER, ALLSANITY_ONLY -> "allsanity";
+            case SALAD_NATURE, SALAD_ENEMY, SALAD_RUPEES, SALAD_DUNGEONS, SALAD_SONGS, SALAD_MIX, SALAD_ALL -> "salad";
+            case TOT -> "tot";
+            case MIXED -> "mixed";
+        });
+    }
+
+    /**
+     * Fixed-settings modes are served from the pool when a seed is ready.
+     */
+    private Optional<SeedResult> takePooledSeed(SeedMode mode, Map<String, String> userSettings) {
+        if (userSettings != null && !userSettings.isEmpty()) {
+            return Optional.empty();
+        }
+        return seedPool.take(mode);
+    }
+
+    private CompletableFuture<SeedResult> generateFreshSeedAsync(SeedRequest request) {
+        SeedMode mode = request.mode();
+        CompletableFuture<SeedResult> generation = switch (mode) {
+            case FRANCO -> generateFrancoSeedUseCase.executeAsync(request);
+            case RSL, POT, BEGINNER -> generateRSLSeedUseCase.executeAsync(request);
+            case RSL_SEASON8 -> generateRSLSeedFromAPIUseCase.executeAsync(request, "rsl_season8");
+            case ROT -> generateRSLSeedFromAPIUseCase.executeAsync(request, "rsl_rupee");
+            case S8 -> generateS8SeedUseCase.executeAsync(request);
+            case S9 -> generateS9SeedUseCase.executeAsync(request);
+            case ALLSANITY_ER_DECOUPLED, ALLSANITY_ER, ALLSANITY_ONLY -> generateAllsanitySeedUseCase.executeAsync(request);
+            case SALAD_NATURE, SALAD_ENEMY, SALAD_RUPEES, SALAD_DUNGEONS, SALAD_SONGS, SALAD_MIX, SALAD_ALL -> generateSaladSeedUseCase.executeAsync(request);
+            case TOT -> generateTotSeedUseCase.executeAsync(request);
+            case MIXED -> generateMixedSeedUseCase.executeAsync(request);
+        };
+
+        return AsyncFailures.wrap(generation, cause -> new SeedGenerationException("Error during seed generation", cause));
+    }
+
     /**
      * Retrieves available options for a given preset.
      */
@@ -76,6 +238,15 @@ public class SeedService {
                 .orElseThrow(() -> new IllegalArgumentException("Preset not found: " + presetName));
     }
 
+    /**
+     * Randomly selects up to {@code count} compatible options of a preset.
+     */
+    public List<String> selectRandomOptions(String presetName, int count, RandomGenerator random) {
+        return presetRepository.getPreset(presetName)
+                .map(preset -> selectRandomOptionsUseCase.execute(preset, count, random))
+                .orElseThrow(() -> new IllegalArgumentException("Preset not found: " + presetName));
+    }
+
     public static class SeedGenerationException extends Exception {
         public SeedGenerationException(String message, Throwable cause) {
             super(message, cause);
@@ -0,0 +1,124 @@
+package fr.rawz06.rslfrancobot.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Spring configuration for the pooled Apache HttpClient.
+ * Connections are kept alive and reused between seed generations so that
+ * only the first call to a host pays the TLS handshake.
+ * An asynchronous client with the same settings serves non-blocking calls:
+ * a couple of I/O threads multiplex every in-flight request.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(connectionConfig(properties))
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+                                          HttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(requestConfig(properties))
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(properties.getIdleEviction()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate randomizerRestTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    /**
+     * Client for the RSL settings API: same connection pool, shorter timeouts.
+     */
+    @Bean
+    public RestTemplate rslApiRestTemplate(PoolingHttpClientConnectionManager httpConnectionManager,
+                                           HttpClientProperties properties,
+                                           RSLApiProperties rslApiProperties) {
+        CloseableHttpClient client = HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.copy(requestConfig(properties))
+                        .setResponseTimeout(toTimeout(rslApiProperties.getResponseTimeout()))
+                        .build())
+                .build();
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(client));
+    }
+
+    @Bean
+    public PoolingAsyncClientConnectionManager httpAsyncConnectionManager(HttpClientProperties properties) {
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(connectionConfig(properties))
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpAsyncClient httpAsyncClient(PoolingAsyncClientConnectionManager httpAsyncConnectionManager,
+                                                    HttpClientProperties properties) {
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(httpAsyncConnectionManager)
+                .setDefaultRequestConfig(requestConfig(properties))
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setIoThreadCount(properties.getIoThreads())
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(properties.getIdleEviction()))
+                .build();
+        client.start();
+        return client;
+    }
+
+    private static ConnectionConfig connectionConfig(HttpClientProperties properties) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(toTimeout(properties.getConnectTimeout()))
+                .setSocketTimeout(toTimeout(properties.getResponseTimeout()))
+                .setValidateAfterInactivity(toTimeValue(properties.getValidateAfterInactivity()))
+                .setTimeToLive(toTimeValue(properties.getTimeToLive()))
+                .build();
+    }
+
+    private static RequestConfig requestConfig(HttpClientProperties properties) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(toTimeout(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(toTimeout(properties.getResponseTimeout()))
+                .setConnectionKeepAlive(toTimeValue(properties.getKeepAlive()))
+                .build();
+    }
+
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -0,0 +1,37 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings of the pooled HTTP client used to call external APIs.
+ * Defaults are tuned for bursts of seed generations against ootrandomizer.com.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.http.client")
+public class HttpClientProperties {
+    /** Maximum number of pooled connections, all routes included. */
+    private int maxTotal = 50;
+    /** Maximum number of pooled connections to a single host. */
+    private int maxPerRoute = 20;
+    /** Time allowed to establish the TCP/TLS connection. */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    /** Time allowed to wait for the response once the request is sent. */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+    /** Time allowed to lease a connection from the pool. */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(10);
+    /** Keep-alive applied when the server does not send a Keep-Alive header. */
+    private Duration keepAlive = Duration.ofMinutes(2);
+    /** Idle connections older than this are closed by the background evictor. */
+    private Duration idleEviction = Duration.ofMinutes(1);
+    /** Pooled connections idle for longer than this are checked before reuse. */
+    private Duration validateAfterInactivity = Duration.ofSeconds(10);
+    /** Maximum lifetime of a pooled connection. */
+    private Duration timeToLive = Duration.ofMinutes(10);
+    /** Number of I/O dispatcher threads of the asynchronous client. */
+    private int ioThreads = 2;
+}
@@ -0,0 +1,22 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Data kept between the interactions of a menu (Franco selections).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.discord.sessions")
+public class InteractionSessionProperties {
+    /** Sessions kept at most; the least recently used one is dropped above this. */
+    private int maxSessions = 10_000;
+    /** A session not used for this long is dropped. */
+    private Duration idleTtl = Duration.ofMinutes(30);
+    /** Interval of the check dropping idle sessions. */
+    private Duration cleanupInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,26 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Where the presets (data/*.json and franco.yaml) are loaded from.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.presets")
+public class PresetProperties {
+    /** Directory holding the preset files; empty to use the files bundled in resources/data. */
+    private String directory;
+    /** Reload presets when a file of the directory changes (requires a directory). */
+    private boolean watch = false;
+    /** Delay to let an editor finish writing before a changed file is parsed again. */
+    private Duration reloadDelay = Duration.ofMillis(500);
+    /** Load each preset on first use instead of at startup. */
+    private boolean lazy = false;
+    /** Stop the startup when a preset cannot be loaded (otherwise it is only logged). */
+    private boolean failOnError = true;
+}
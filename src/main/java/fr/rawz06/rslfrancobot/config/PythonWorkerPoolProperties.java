@@ -0,0 +1,28 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Pool of long-lived Python processes running the RSL settings generator.
+ * When disabled, a new Python process is started for every generation.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.python.workers")
+public class PythonWorkerPoolProperties {
+    private boolean enabled = false;
+    /** Maximum number of worker processes, also the number of parallel generations. */
+    private int size = 2;
+    /** A worker is replaced by a fresh process after this many generations. */
+    private int maxJobsPerWorker = 50;
+    /** A generation taking longer than this kills the worker. */
+    private Duration requestTimeout = Duration.ofSeconds(60);
+    /** Interval between two pings of the idle workers. */
+    private Duration healthCheckInterval = Duration.ofMinutes(1);
+    /** A worker not answering a ping within this delay is replaced. */
+    private Duration healthCheckTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,31 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Client settings for the remote RSL settings API (app.rsl.api.base-url).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rsl.api")
+public class RSLApiProperties {
+    /** Response timeout of a single request (connections come from the shared pool). */
+    private Duration responseTimeout = Duration.ofSeconds(15);
+    /** Settings fetched in advance per season, 0 disables prefetching. */
+    private int prefetchDepth = 0;
+    /** Prefetched settings older than this are discarded. */
+    private Duration prefetchMaxAge = Duration.ofMinutes(10);
+    /** Seasons prefetched at startup (others are prefetched after their first request). */
+    private List<String> prefetchSeasons = List.of("rsl_season8", "rsl_rupee");
+    /** Sends a second request when the first one is slower than the latency percentile below. */
+    private boolean hedgingEnabled = false;
+    /** Latency percentile (0-1) after which the hedged request is sent. */
+    private double hedgePercentile = 0.95;
+    /** Lower bound of the hedging delay, also used until enough latencies are known. */
+    private Duration hedgeMinDelay = Duration.ofSeconds(2);
+}
@@ -0,0 +1,27 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fallback sources used when the remote RSL settings API fails.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rsl.fallback")
+public class RSLFallbackProperties {
+    private boolean enabled = true;
+    /** Local preset (rsl, pot, beginner) rolled when the API fails, per season. Seasons not listed have no local source. */
+    private Map<String, String> localPresets = new HashMap<>();
+    /** A source whose recent error rate is above this is tried last. */
+    private double errorRateThreshold = 0.5;
+    /** An unhealthy source not tried for this long is tried first once, to detect its recovery. */
+    private Duration probeInterval = Duration.ofMinutes(1);
+    /** The last settings obtained for a season are reused for at most this long. */
+    private Duration lastKnownGoodMaxAge = Duration.ofHours(24);
+}
@@ -0,0 +1,24 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Buffer of RSL settings rolled in advance, per preset.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rsl.buffer")
+public class RSLSettingsBufferProperties {
+    private boolean enabled = false;
+    /** Number of ready settings kept per preset. */
+    private int depth = 2;
+    /** Presets served from the buffer. */
+    private List<String> presets = List.of("rsl", "pot", "beginner");
+    /** Interval of the background check topping up the buffers. */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,23 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker applied per randomizer version.
+ * A version failing repeatedly is rejected immediately for a while.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.randomizer.circuit-breaker")
+public class RandomizerCircuitBreakerProperties {
+    /** Disables the circuit breaker entirely when false. */
+    private boolean enabled = true;
+    /** Consecutive failures opening the circuit. */
+    private int failureThreshold = 5;
+    /** Time the circuit stays open before a trial call is let through. */
+    private Duration openDuration = Duration.ofSeconds(30);
+}
@@ -0,0 +1,29 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Rate limit applied to ootrandomizer.com calls, per API key.
+ * Requests above the limit wait in a FIFO queue instead of failing.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.randomizer.rate-limit")
+public class RandomizerRateLimitProperties {
+    /** Disables the limiter entirely when false. */
+    private boolean enabled = true;
+    /** Number of calls that can be made back to back (bucket size). */
+    private int burst = 5;
+    /** Sustained number of calls allowed per minute. */
+    private int requestsPerMinute = 20;
+    /** Requests waiting above this size are rejected. */
+    private int maxQueueSize = 100;
+    /** Number of times a call answered with 429 is queued again. */
+    private int maxRetriesOn429 = 3;
+    /** Pause applied after a 429 without a usable Retry-After header. */
+    private Duration defaultRetryAfter = Duration.ofSeconds(10);
+}
@@ -0,0 +1,28 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Retry policy for transient ootrandomizer.com failures
+ * (gateway errors and failures to connect, before the seed request is sent).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.randomizer.retry")
+public class RandomizerRetryProperties {
+    /** Total number of attempts per seed, 1 disables retries. */
+    private int maxAttempts = 3;
+    /** Backoff before the first retry. */
+    private Duration initialBackoff = Duration.ofMillis(500);
+    /** Upper bound of the backoff. */
+    private Duration maxBackoff = Duration.ofSeconds(8);
+    /** Growth factor of the backoff between two retries. */
+    private double multiplier = 2.0;
+    /** HTTP statuses considered transient. */
+    private List<Integer> retryableStatuses = List.of(502, 503, 504);
+}
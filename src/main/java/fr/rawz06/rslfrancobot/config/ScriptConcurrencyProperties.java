@@ -0,0 +1,23 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Limits the number of RSL settings generations (Python processes) running at once.
+ * Extra generations wait in a FIFO queue.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.python.concurrency")
+public class ScriptConcurrencyProperties {
+    /** Generations running in parallel. */
+    private int maxConcurrent = 2;
+    /** Generations waiting above this size are rejected. */
+    private int maxQueueSize = 20;
+    /** A generation waiting longer than this is rejected. */
+    private Duration maxWait = Duration.ofMinutes(2);
+}
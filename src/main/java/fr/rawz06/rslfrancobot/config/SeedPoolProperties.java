@@ -0,0 +1,33 @@
+package fr.rawz06.rslfrancobot.config;
+
+import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Pool of seeds generated in advance for the modes without user settings.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.seed.pool")
+public class SeedPoolProperties {
+    /** Disabled by default: every pooled seed is a real call to ootrandomizer.com. */
+    private boolean enabled = false;
+    /** Number of ready seeds kept per mode. */
+    private int depth = 2;
+    /** Pooled seeds older than this are discarded and generated again. */
+    private Duration ttl = Duration.ofHours(6);
+    /** Interval of the check discarding expired seeds and topping up the pools. */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+    /** Modes served from the pool. */
+    private Set<SeedMode> modes = EnumSet.of(
+            SeedMode.S8, SeedMode.S9, SeedMode.TOT, SeedMode.MIXED,
+            SeedMode.ALLSANITY_ER_DECOUPLED, SeedMode.ALLSANITY_ER, SeedMode.ALLSANITY_ONLY,
+            SeedMode.SALAD_NATURE, SeedMode.SALAD_ENEMY, SeedMode.SALAD_RUPEES, SeedMode.SALAD_DUNGEONS,
+            SeedMode.SALAD_SONGS, SeedMode.SALAD_MIX, SeedMode.SALAD_ALL);
+}
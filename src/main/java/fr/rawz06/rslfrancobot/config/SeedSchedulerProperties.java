@@ -0,0 +1,29 @@
+package fr.rawz06.rslfrancobot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Fair sharing of seed generations between Discord users and servers.
+ * Generations above the caps wait, served in turn user by user.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.seed.scheduler")
+public class SeedSchedulerProperties {
+    /** When disabled, generations start as soon as they are requested. */
+    private boolean enabled = true;
+    /** Generations running at once, all users included. */
+    private int maxConcurrent = 8;
+    /** Generations running at once for a single user. */
+    private int maxPerUser = 2;
+    /** Generations running at once for a single Discord server. */
+    private int maxPerGuild = 6;
+    /** Generations a single user can have waiting; more are rejected. */
+    private int maxQueuedPerUser = 5;
+    /** A generation waiting longer than this is rejected. */
+    private Duration maxWait = Duration.ofMinutes(5);
+}
@@ -0,0 +1,125 @@
+package fr.rawz06.rslfrancobot.engine.domain.entities;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Preset options compiled into dense indices, with the incompatibilities of each
+ * option stored as a bitmask over those indices.
+ * A selection is a long[] bitmask from {@link #newSelection()}, so checking an
+ * option against a whole selection is a few word-wide ANDs.
+ * Conflicts are kept as declared (for validation messages) and as a symmetric
+ * exclusion graph (for picking options).
+ * Immutable once compiled.
+ */
+public final class OptionCompatibility {
+
+    private final List<Preset.PresetOption> options;
+    private final Map<String, Integer> indices;
+    private final long[][] conflicts;
+    private final long[][] exclusions;
+    private final int words;
+
+    private OptionCompatibility(List<Preset.PresetOption> options, Map<String, Integer> indices,
+                                long[][] conflicts, long[][] exclusions) {
+        this.options = options;
+        this.indices = indices;
+        this.conflicts = conflicts;
+        this.exclusions = exclusions;
+        this.words = wordCount(options.size());
+    }
+
+    /**
+     * Compiles the options of a preset.
+     * Incompatibilities referring to unknown option ids are ignored.
+     */
+    public static OptionCompatibility compile(List<Preset.PresetOption> options) {
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < options.size(); i++) {
+            indices.put(options.get(i).id(), i);
+        }
+
+        long[][] conflicts = new long[options.size()][wordCount(options.size())];
+        long[][] exclusions = new long[options.size()][wordCount(options.size())];
+        for (int i = 0; i < options.size(); i++) {
+            for (String incompatibleId : options.get(i).incompatibleWith()) {
+                Integer other = indices.get(incompatibleId);
+                if (other != null) {
+                    set(conflicts[i], other);
+                    set(exclusions[i], other);
+                    set(exclusions[other], i);
+                }
+            }
+        }
+        return new OptionCompatibility(List.copyOf(options), Map.copyOf(indices), conflicts, exclusions);
+    }
+
+    public int size() {
+        return options.size();
+    }
+
+    /**
+     * Index of the option with this id, -1 if the preset has no such option.
+     */
+    public int indexOf(String optionId) {
+        Integer index = indices.get(optionId);
+        return index == null ? -1 : index;
+    }
+
+    public Preset.PresetOption option(int index) {
+        return options.get(index);
+    }
+
+    /**
+     * Empty selection bitmask sized for these options.
+     */
+    public long[] newSelection() {
+        return new long[words];
+    }
+
+    public static void set(long[] selection, int index) {
+        selection[index >>> 6] |= 1L << index;
+    }
+
+    public static boolean isSet(long[] selection, int index) {
+        return (selection[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * True if the option declares an incompatibility with any option of the selection.
+     */
+    public boolean conflictsWith(int index, long[] selection) {
+        long[] mask = conflicts[index];
+        for (int w = 0; w < words; w++) {
+            if ((mask[w] & selection[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if the two options cannot be selected together (declared on either side).
+     */
+    public boolean excludes(int index, int other) {
+        return isSet(exclusions[index], other);
+    }
+
+    /**
+     * True if the option cannot be added to the selection (incompatibility declared on either side).
+     */
+    public boolean excludesAny(int index, long[] selection) {
+        long[] mask = exclusions[index];
+        for (int w = 0; w < words; w++) {
+            if ((mask[w] & selection[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+}
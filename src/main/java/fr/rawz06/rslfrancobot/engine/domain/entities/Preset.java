@@ -6,11 +6,15 @@ import java.util.Map;
 /**
  * Represents a configuration preset.
  * Contains base settings and user-configurable options.
+ * Settings are deeply frozen on construction, so a preset can be shared between
+ * requests; use {@link SettingsOverlay} to derive per-request settings.
+ * The options are compiled once into an {@link OptionCompatibility} for validation.
  */
 public record Preset(
         String name,
         Map<String, Object> baseSettings,
-        List<PresetOption> availableOptions
+        List<PresetOption> availableOptions,
+        OptionCompatibility compatibility
 ) {
     public Preset {
         if (name == null || name.isBlank()) {
@@ -19,6 +23,18 @@ public record Preset(
         if (baseSettings == null) {
             throw new IllegalArgumentException("Base settings cannot be null");
         }
+        baseSettings = SettingsOverlay.freeze(baseSettings);
+        availableOptions = availableOptions == null ? List.of() : List.copyOf(availableOptions);
+        if (compatibility == null) {
+            compatibility = OptionCompatibility.compile(availableOptions);
+        }
+    }
+
+    /**
+     * Creates a preset, compiling the incompatibilities of its options.
+     */
+    public Preset(String name, Map<String, Object> baseSettings, List<PresetOption> availableOptions) {
+        this(name, baseSettings, availableOptions, null);
     }
 
     /**
@@ -38,6 +54,10 @@ public record Preset(
             if (label == null || label.isBlank()) {
                 throw new IllegalArgumentException("Label cannot be empty");
             }
+            if (settingsToApply != null) {
+                settingsToApply = SettingsOverlay.freeze(settingsToApply);
+            }
+            incompatibleWith = incompatibleWith == null ? List.of() : List.copyOf(incompatibleWith);
         }
     }
 }
@@ -1,15 +1,19 @@
 package fr.rawz06.rslfrancobot.engine.domain.entities;
 
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+
 import java.util.Map;
 
 /**
  * Represents a seed generation request.
  * Business domain entity.
+ * The queue listener is notified if the request has to wait before being processed.
  */
 public record SeedRequest(
         SeedMode mode,
         String userId,
-        Map<String, String> userSettings
+        Map<String, String> userSettings,
+        QueueListener queueListener
 ) {
     public SeedRequest {
         if (mode == null) {
@@ -18,5 +22,12 @@ public record SeedRequest(
         if (userId == null || userId.isBlank()) {
             throw new IllegalArgumentException("UserId cannot be empty");
         }
+        if (queueListener == null) {
+            queueListener = QueueListener.NONE;
+        }
+    }
+
+    public SeedRequest(SeedMode mode, String userId, Map<String, String> userSettings) {
+        this(mode, userId, userSettings, QueueListener.NONE);
     }
 }
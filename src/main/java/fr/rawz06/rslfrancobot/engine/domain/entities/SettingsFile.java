@@ -1,10 +1,12 @@
 package fr.rawz06.rslfrancobot.engine.domain.entities;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
  * Represents a complete settings file for the randomizer.
  * Contains all the configuration needed to generate a seed.
+ * The settings are read-only once the file is built.
  */
 public record SettingsFile(
         Map<String, Object> settings
@@ -13,5 +15,7 @@ public record SettingsFile(
         if (settings == null) {
             throw new IllegalArgumentException("Settings cannot be null");
         }
+        // Already read-only maps (frozen presets) are kept as is, so they keep their identity
+        settings = Collections.unmodifiableMap(settings);
     }
 }
@@ -0,0 +1,165 @@
+package fr.rawz06.rslfrancobot.engine.domain.entities;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Per-request view of preset settings.
+ * Reads go through to the (frozen) base settings, writes are kept in a small
+ * override map, so the base is never copied nor modified.
+ */
+public final class SettingsOverlay extends AbstractMap<String, Object> {
+
+    private static final Object REMOVED = new Object();
+
+    private final Map<String, Object> base;
+    private final Map<String, Object> overrides = new HashMap<>();
+    private int size;
+
+    public SettingsOverlay(Map<String, Object> base) {
+        if (base == null) {
+            throw new IllegalArgumentException("Base settings cannot be null");
+        }
+        this.base = base;
+        this.size = base.size();
+    }
+
+    /**
+     * Deep copy of a settings tree where every nested map and list is unmodifiable.
+     * Null values (valid in JSON) are kept.
+     */
+    public static Map<String, Object> freeze(Map<String, ?> settings) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        settings.forEach((key, value) -> copy.put(key, freezeValue(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object freezeValue(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return freeze((Map<String, ?>) map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(freezeValue(item)));
+            return Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (overrides.containsKey(key)) {
+            Object value = overrides.get(key);
+            return value == REMOVED ? null : value;
+        }
+        return base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (overrides.containsKey(key)) {
+            return overrides.get(key) != REMOVED;
+        }
+        return base.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        boolean present = containsKey(key);
+        Object previous = get(key);
+        overrides.put(key, value);
+        if (!present) {
+            size++;
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        Object previous = get(key);
+        if (base.containsKey(key)) {
+            overrides.put((String) key, REMOVED);
+        } else {
+            overrides.remove(key);
+        }
+        size--;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Base entries first (with overridden values), then keys only present in the overrides.
+     */
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Object>> baseEntries = base.entrySet().iterator();
+        private final Iterator<Entry<String, Object>> addedEntries = overrides.entrySet().iterator();
+        private Entry<String, Object> next = advance();
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, Object> current = next;
+            next = advance();
+            return current;
+        }
+
+        private Entry<String, Object> advance() {
+            while (baseEntries.hasNext()) {
+                Entry<String, Object> entry = baseEntries.next();
+                if (!overrides.containsKey(entry.getKey())) {
+                    return entry;
+                }
+                Object value = overrides.get(entry.getKey());
+                if (value != REMOVED) {
+                    return new SimpleImmutableEntry<>(entry.getKey(), value);
+                }
+            }
+            while (addedEntries.hasNext()) {
+                Entry<String, Object> entry = addedEntries.next();
+                if (entry.getValue() != REMOVED && !base.containsKey(entry.getKey())) {
+                    return new SimpleImmutableEntry<>(entry);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package fr.rawz06.rslfrancobot.engine.domain.ports;
+
+/**
+ * Callback notified while a generation waits in a queue.
+ * Implemented by the Bot Layer to tell the user where they stand.
+ */
+@FunctionalInterface
+public interface QueueListener {
+
+    /**
+     * Listener that ignores queue updates.
+     */
+    QueueListener NONE = (queue, position) -> { };
+
+    /**
+     * What the generation is waiting for.
+     */
+    enum Queue {
+        /** Rate limit of the randomizer API. */
+        RANDOMIZER_API,
+        /** Free slot to roll RSL settings with the Python script. */
+        RSL_SCRIPT,
+        /** Fair share of the generations between users and servers. */
+        FAIR_SHARE
+    }
+
+    /**
+     * Called when the request is queued and each time its position changes.
+     *
+     * @param queue    queue the request waits in
+     * @param position 1-based position in the queue (1 = next to run)
+     */
+    void onQueued(Queue queue, int position);
+}
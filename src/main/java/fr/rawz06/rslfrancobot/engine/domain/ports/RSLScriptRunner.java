@@ -16,7 +16,15 @@ public interface RSLScriptRunner {
      * @return Settings generated by the script
      * @throws ScriptExecutionException If script execution fails
      */
-    SettingsFile generateSettings(Preset preset) throws ScriptExecutionException;
+    default SettingsFile generateSettings(Preset preset) throws ScriptExecutionException {
+        return generateSettings(preset, QueueListener.NONE);
+    }
+
+    /**
+     * Same as {@link #generateSettings(Preset)}; the listener is told the
+     * queue position while the generation waits for a free slot.
+     */
+    SettingsFile generateSettings(Preset preset, QueueListener queueListener) throws ScriptExecutionException;
 
     class ScriptExecutionException extends Exception {
         public ScriptExecutionException(String message) {
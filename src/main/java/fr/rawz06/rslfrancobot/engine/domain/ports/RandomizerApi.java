@@ -4,6 +4,8 @@ import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Port for the OoT randomizer API.
  * Abstraction of communication with ootrandomizer.com.
@@ -15,10 +17,36 @@ public interface RandomizerApi {
      *
      * @param mode Seed mode (to determine API version)
      * @param settings Complete settings for generation
+     * @param queueListener Notified if the call has to wait for the API rate limit
      * @return Result containing the URL and hash of the seed
      * @throws RandomizerApiException If generation fails
      */
-    SeedResult generateSeed(SeedMode mode, SettingsFile settings) throws RandomizerApiException;
+    SeedResult generateSeed(SeedMode mode, SettingsFile settings, QueueListener queueListener) throws RandomizerApiException;
+
+    /**
+     * Generates a seed on ootrandomizer.com without blocking the calling thread.
+     *
+     * @param mode Seed mode (to determine API version)
+     * @param settings Complete settings for generation
+     * @param queueListener Notified if the call has to wait for the API rate limit
+     * @return Future completed with the seed result, or completed exceptionally
+     *         with a RandomizerApiException if generation fails
+     */
+    CompletableFuture<SeedResult> generateSeedAsync(SeedMode mode, SettingsFile settings, QueueListener queueListener);
+
+    /**
+     * Generates a seed on ootrandomizer.com, without queue notifications.
+     */
+    default SeedResult generateSeed(SeedMode mode, SettingsFile settings) throws RandomizerApiException {
+        return generateSeed(mode, settings, QueueListener.NONE);
+    }
+
+    /**
+     * Generates a seed on ootrandomizer.com without blocking, without queue notifications.
+     */
+    default CompletableFuture<SeedResult> generateSeedAsync(SeedMode mode, SettingsFile settings) {
+        return generateSeedAsync(mode, settings, QueueListener.NONE);
+    }
 
     class RandomizerApiException extends Exception {
         public RandomizerApiException(String message) {
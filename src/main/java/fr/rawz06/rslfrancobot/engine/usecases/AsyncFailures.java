@@ -0,0 +1,30 @@
+package fr.rawz06.rslfrancobot.engine.usecases;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Failure translation for the asynchronous generation paths.
+ */
+public final class AsyncFailures {
+
+    private AsyncFailures() {
+    }
+
+    /**
+     * Same future, failing with the exception built by {@code wrapper} from the
+     * original failure (unwrapped from its CompletionException) instead.
+     */
+    public static <T> CompletableFuture<T> wrap(CompletableFuture<T> future,
+                                                Function<Throwable, ? extends Throwable> wrapper) {
+        return future.exceptionallyCompose(e -> CompletableFuture.failedFuture(wrapper.apply(unwrap(e))));
+    }
+
+    /**
+     * The actual failure behind a CompletionException.
+     */
+    public static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
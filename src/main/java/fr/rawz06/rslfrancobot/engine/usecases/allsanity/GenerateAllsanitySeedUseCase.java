@@ -3,11 +3,13 @@ package fr.rawz06.rslfrancobot.engine.usecases.allsanity;
 import fr.rawz06.rslfrancobot.engine.domain.entities.*;
 import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Use Case: Generates a seed in Allsanity modes.
@@ -15,6 +17,7 @@ import java.util.Map;
  * - ALLSANITY_ER_DECOUPLED: Uses allsanity.json as-is
  * - ALLSANITY_ER: Sets decouple_entrances to false
  * - ALLSANITY_ONLY: Disables all ER settings
+ * The settings of each variant are computed once and reused until the preset changes.
  */
 @Component
 public class GenerateAllsanitySeedUseCase {
@@ -22,6 +25,8 @@ public class GenerateAllsanitySeedUseCase {
     private final PresetRepository presetRepository;
     private final RandomizerApi randomizerApi;
 
+    private volatile Variants variants;
+
     public GenerateAllsanitySeedUseCase(
             PresetRepository presetRepository,
             RandomizerApi randomizerApi
@@ -31,15 +36,70 @@ public class GenerateAllsanitySeedUseCase {
     }
 
     public SeedResult execute(SeedRequest request) throws GenerationException {
+        SettingsFile settingsFile = buildSettings(request);
+
+        // 5. Generate seed via API
+        try {
+            return randomizerApi.generateSeed(request.mode(), settingsFile, request.queueListener());
+        } catch (RandomizerApi.RandomizerApiException e) {
+            throw new GenerationException("Error during seed generation", e);
+        }
+    }
+
+    public CompletableFuture<SeedResult> executeAsync(SeedRequest request) {
+        SettingsFile settings;
+        try {
+            settings = buildSettings(request);
+        } catch (GenerationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // 5. Generate seed via API without blocking the caller
+        return AsyncFailures.wrap(randomizerApi.generateSeedAsync(request.mode(), settings, request.queueListener()),
+                cause -> new GenerationException("Error during seed generation", cause));
+    }
+
+    /**
+     * Computes the settings of every Allsanity mode ahead of the first request.
+     */
+    public void precompute() throws GenerationException {
+        variants();
+    }
+
+    private SettingsFile buildSettings(SeedRequest request) throws GenerationException {
+        SettingsFile settings = variants().settings().get(request.mode());
+        if (settings == null) {
+            throw new GenerationException("Unsupported Allsanity mode: " + request.mode());
+        }
+        return settings;
+    }
+
+    /**
+     * Settings of each mode, computed once per loaded allsanity preset.
+     */
+    private Variants variants() throws GenerationException {
         // 1. Retrieve Allsanity preset (contains fixed settings from allsanity.json)
         Preset allsanityPreset = presetRepository.getPreset("allsanity")
                 .orElseThrow(() -> new GenerationException("Allsanity preset not found"));
 
-        // 2. Create a mutable copy of base settings
-        Map<String, Object> settings = new HashMap<>(allsanityPreset.baseSettings());
+        Variants current = variants;
+        if (current == null || current.preset() != allsanityPreset) {
+            Map<SeedMode, SettingsFile> settings = new EnumMap<>(SeedMode.class);
+            for (SeedMode mode : List.of(SeedMode.ALLSANITY_ER_DECOUPLED, SeedMode.ALLSANITY_ER, SeedMode.ALLSANITY_ONLY)) {
+                settings.put(mode, computeSettings(allsanityPreset, mode));
+            }
+            current = new Variants(allsanityPreset, settings);
+            variants = current;
+        }
+        return current;
+    }
+
+    private SettingsFile computeSettings(Preset allsanityPreset, SeedMode mode) {
+        // 2. Overlay the base settings (reads through, nothing is copied)
+        Map<String, Object> settings = new SettingsOverlay(allsanityPreset.baseSettings());
 
         // 3. Apply mode-specific modifications
-        switch (request.mode()) {
+        switch (mode) {
             case ALLSANITY_ER_DECOUPLED:
                 // Use settings as-is (decouple_entrances is already true)
                 break;
@@ -63,24 +123,19 @@ public class GenerateAllsanitySeedUseCase {
                 settings.put("shuffle_dungeon_entrances", "off");
                 settings.put("shuffle_bosses", "off");
                 settings.put("shuffle_gerudo_fortress_heart_piece", "remove");
-                settings.put("mix_entrance_pools", new ArrayList<>());
+                settings.put("mix_entrance_pools", List.of());
                 break;
 
             default:
-                throw new GenerationException("Unsupported Allsanity mode: " + request.mode());
+                throw new IllegalStateException("Unexpected Allsanity mode: " + mode);
         }
 
         // 4. Create SettingsFile from modified settings
-        SettingsFile settingsFile = new SettingsFile(settings);
-
-        // 5. Generate seed via API
-        try {
-            return randomizerApi.generateSeed(request.mode(), settingsFile);
-        } catch (RandomizerApi.RandomizerApiException e) {
-            throw new GenerationException("Error during seed generation", e);
-        }
+        return new SettingsFile(settings);
     }
 
+    private record Variants(Preset preset, Map<SeedMode, SettingsFile> settings) { }
+
     public static class GenerationException extends Exception {
         public GenerationException(String message) {
             super(message);
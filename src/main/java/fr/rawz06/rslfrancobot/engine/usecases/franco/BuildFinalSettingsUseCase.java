@@ -1,10 +1,11 @@
 package fr.rawz06.rslfrancobot.engine.usecases.franco;
 
+import fr.rawz06.rslfrancobot.engine.domain.entities.OptionCompatibility;
 import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsOverlay;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,8 +17,8 @@ import java.util.Map;
 public class BuildFinalSettingsUseCase {
 
     public SettingsFile execute(Preset preset, List<String> selectedOptionIds) {
-        // Copy base settings
-        Map<String, Object> finalSettings = new HashMap<>(preset.baseSettings());
+        // Overlay base settings, options only add overrides
+        Map<String, Object> finalSettings = new SettingsOverlay(preset.baseSettings());
 
         // If no options selected, return base settings
         if (selectedOptionIds == null || selectedOptionIds.isEmpty()) {
@@ -25,14 +26,10 @@ public class BuildFinalSettingsUseCase {
         }
 
         // Apply selected options
-        Map<String, Preset.PresetOption> optionsMap = preset.availableOptions().stream()
-                .collect(java.util.stream.Collectors.toMap(
-                        Preset.PresetOption::id,
-                        option -> option
-                ));
-
+        OptionCompatibility options = preset.compatibility();
         for (String selectedId : selectedOptionIds) {
-            Preset.PresetOption option = optionsMap.get(selectedId);
+            int index = options.indexOf(selectedId);
+            Preset.PresetOption option = index < 0 ? null : options.option(index);
             if (option != null && option.settingsToApply() != null) {
                 // Merge settings from this option
                 finalSettings.putAll(option.settingsToApply());
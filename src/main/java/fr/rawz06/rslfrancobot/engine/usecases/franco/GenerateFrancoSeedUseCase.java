@@ -3,9 +3,11 @@ package fr.rawz06.rslfrancobot.engine.usecases.franco;
 import fr.rawz06.rslfrancobot.engine.domain.entities.*;
 import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Use Case: Generates a seed in Franco mode.
@@ -32,6 +34,30 @@ public class GenerateFrancoSeedUseCase {
     }
 
     public SeedResult execute(SeedRequest request) throws GenerationException {
+        SettingsFile finalSettings = buildSettings(request);
+
+        // 5. Generate seed via API
+        try {
+            return randomizerApi.generateSeed(request.mode(), finalSettings, request.queueListener());
+        } catch (RandomizerApi.RandomizerApiException e) {
+            throw new GenerationException("Error during seed generation", e);
+        }
+    }
+
+    public CompletableFuture<SeedResult> executeAsync(SeedRequest request) {
+        SettingsFile settings;
+        try {
+            settings = buildSettings(request);
+        } catch (GenerationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // 5. Generate seed via API without blocking the caller
+        return AsyncFailures.wrap(randomizerApi.generateSeedAsync(request.mode(), settings, request.queueListener()),
+                cause -> new GenerationException("Error during seed generation", cause));
+    }
+
+    private SettingsFile buildSettings(SeedRequest request) throws GenerationException {
         // 1. Retrieve Franco preset
         Preset francoPreset = presetRepository.getPreset("franco")
                 .orElseThrow(() -> new GenerationException("Franco preset not found"));
@@ -48,14 +74,7 @@ public class GenerateFrancoSeedUseCase {
         }
 
         // 4. Build final settings
-        SettingsFile finalSettings = buildFinalSettingsUseCase.execute(francoPreset, selectedOptionIds);
-
-        // 5. Generate seed via API
-        try {
-            return randomizerApi.generateSeed(request.mode(), finalSettings);
-        } catch (RandomizerApi.RandomizerApiException e) {
-            throw new GenerationException("Error during seed generation", e);
-        }
+        return buildFinalSettingsUseCase.execute(francoPreset, selectedOptionIds);
     }
 
     public static class GenerationException extends Exception {
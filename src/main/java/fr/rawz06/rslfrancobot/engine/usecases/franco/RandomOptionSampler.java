@@ -0,0 +1,365 @@
+package fr.rawz06.rslfrancobot.engine.usecases.franco;
+
+import fr.rawz06.rslfrancobot.engine.domain.entities.OptionCompatibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws sets of compatible options uniformly among all compatible sets of the
+ * requested size, compiled once per preset.
+ *
+ * The exclusion graph is split into connected components. Options without any
+ * incompatibility form one free group, counted with binomials; every other
+ * component has its compatible subsets enumerated by size. Counting how many
+ * sets of each size the remaining groups can make then lets one pass over the
+ * groups pick how many options each one contributes, with exact probabilities.
+ * A component too large to enumerate is drawn from by greedy passes in random
+ * order instead (valid sets, but not exactly uniform within that component, and
+ * weighted as if its largest set found were free options); the other groups
+ * stay exact.
+ */
+class RandomOptionSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RandomOptionSampler.class);
+
+    /** Components above this size are not enumerated. */
+    private static final int MAX_COMPONENT_SIZE = 24;
+    /** Compatible subsets kept per component at most. */
+    private static final int MAX_COMPONENT_SETS = 1 << 16;
+    /** Greedy passes looking for a large compatible set in a component that is not enumerated. */
+    private static final int GREEDY_PASSES = 64;
+
+    private final int[] free;
+    private final List<Group> components;
+    private final int maxSize;
+
+    private RandomOptionSampler(int[] free, List<Group> components) {
+        this.free = free;
+        this.components = components;
+        this.maxSize = free.length + components.stream().mapToInt(Group::maxSize).sum();
+    }
+
+    /**
+     * @param name preset name, for the logs
+     */
+    static RandomOptionSampler compile(String name, OptionCompatibility compatibility) {
+        int size = compatibility.size();
+        boolean[] visited = new boolean[size];
+        List<Integer> free = new ArrayList<>();
+        List<Group> components = new ArrayList<>();
+
+        for (int start = 0; start < size; start++) {
+            if (visited[start]) {
+                continue;
+            }
+            int[] nodes = connectedComponent(compatibility, start, visited);
+            if (nodes.length == 1) {
+                free.add(nodes[0]);
+                continue;
+            }
+            Group component = Component.enumerate(compatibility, nodes);
+            if (component == null) {
+                component = GreedyComponent.of(compatibility, nodes);
+                logger.warn("Preset {}: {} incompatible options are too many to enumerate (largest compatible set "
+                        + "found: {}), random selections are not exactly uniform over them",
+                        name, nodes.length, component.maxSize());
+            }
+            components.add(component);
+        }
+
+        return new RandomOptionSampler(free.stream().mapToInt(Integer::intValue).toArray(), components);
+    }
+
+    /**
+     * Indices of compatible options, as many as requested when possible
+     * (otherwise the largest compatible set available), in random order.
+     */
+    List<Integer> sample(int count, RandomGenerator random) {
+        List<Integer> selected = sampleUniform(Math.min(count, maxSize), random);
+        shuffle(selected, random);
+        return selected;
+    }
+
+    private List<Integer> sampleUniform(int count, RandomGenerator random) {
+        // ways[i][j]: number of compatible sets of j options using groups i.. (group 0 = free options)
+        int groups = components.size() + 1;
+        double[][] ways = new double[groups + 1][count + 1];
+        ways[groups][0] = 1;
+        for (int i = groups - 1; i >= 0; i--) {
+            for (int j = 0; j <= count; j++) {
+                double total = 0;
+                for (int taken = 0; taken <= Math.min(j, maxSize(i)); taken++) {
+                    total += count(i, taken) * ways[i + 1][j - taken];
+                }
+                ways[i][j] = total;
+            }
+        }
+
+        int remaining = count;
+        while (remaining > 0 && ways[0][remaining] == 0) {
+            remaining--;
+        }
+
+        List<Integer> selected = new ArrayList<>(remaining);
+        for (int i = 0; i < groups && remaining > 0; i++) {
+            double target = random.nextDouble() * ways[i][remaining];
+            int taken = -1;
+            double cumulative = 0;
+            for (int t = 0; t <= Math.min(remaining, maxSize(i)); t++) {
+                double weight = count(i, t) * ways[i + 1][remaining - t];
+                if (weight > 0) {
+                    taken = t;
+                    cumulative += weight;
+                    if (target < cumulative) {
+                        break;
+                    }
+                }
+            }
+            pick(i, taken, random, selected);
+            remaining -= taken;
+        }
+        return selected;
+    }
+
+    private int maxSize(int group) {
+        return group == 0 ? free.length : components.get(group - 1).maxSize();
+    }
+
+    private double count(int group, int taken) {
+        return group == 0 ? binomial(free.length, taken) : components.get(group - 1).count(taken);
+    }
+
+    private void pick(int group, int taken, RandomGenerator random, List<Integer> selected) {
+        if (taken <= 0) {
+            return;
+        }
+        if (group > 0) {
+            components.get(group - 1).pick(taken, random, selected);
+            return;
+        }
+        // Partial Fisher-Yates over the free options
+        int[] pool = free.clone();
+        for (int i = 0; i < taken; i++) {
+            int j = i + random.nextInt(pool.length - i);
+            int swap = pool[i];
+            pool[i] = pool[j];
+            pool[j] = swap;
+            selected.add(pool[i]);
+        }
+    }
+
+    private static int[] connectedComponent(OptionCompatibility compatibility, int start, boolean[] visited) {
+        List<Integer> nodes = new ArrayList<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        visited[start] = true;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            nodes.add(node);
+            for (int other = 0; other < compatibility.size(); other++) {
+                if (!visited[other] && compatibility.excludes(node, other)) {
+                    visited[other] = true;
+                    queue.add(other);
+                }
+            }
+        }
+        return nodes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static double binomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        double result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    private static void shuffle(List<Integer> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, swap);
+        }
+    }
+
+    /**
+     * A connected component of the exclusion graph: how many compatible sets of
+     * each size it has, and how to draw one.
+     */
+    private interface Group {
+
+        int maxSize();
+
+        double count(int taken);
+
+        void pick(int taken, RandomGenerator random, List<Integer> selected);
+    }
+
+    /**
+     * A component with its compatible subsets, stored as bitmasks over the
+     * component nodes and grouped by size.
+     */
+    private record Component(int[] nodes, long[][] setsBySize) implements Group {
+
+        static Component enumerate(OptionCompatibility compatibility, int[] nodes) {
+            if (nodes.length > MAX_COMPONENT_SIZE) {
+                return null;
+            }
+            long[] adjacency = new long[nodes.length];
+            for (int a = 0; a < nodes.length; a++) {
+                for (int b = 0; b < nodes.length; b++) {
+                    if (compatibility.excludes(nodes[a], nodes[b])) {
+                        adjacency[a] |= 1L << b;
+                    }
+                }
+            }
+
+            List<List<Long>> sets = new ArrayList<>();
+            for (int i = 0; i <= nodes.length; i++) {
+                sets.add(new ArrayList<>());
+            }
+            if (!collect(adjacency, 0, 0L, 0, sets, new int[] {0})) {
+                return null;
+            }
+
+            int maxSize = sets.size() - 1;
+            while (maxSize > 0 && sets.get(maxSize).isEmpty()) {
+                maxSize--;
+            }
+            long[][] setsBySize = new long[maxSize + 1][];
+            for (int i = 0; i <= maxSize; i++) {
+                setsBySize[i] = sets.get(i).stream().mapToLong(Long::longValue).toArray();
+            }
+            return new Component(nodes, setsBySize);
+        }
+
+        /**
+         * Adds every compatible subset extending {@code chosen} with nodes from {@code next} on.
+         * Returns false once more than MAX_COMPONENT_SETS subsets were found.
+         */
+        private static boolean collect(long[] adjacency, int next, long chosen, int size,
+                                       List<List<Long>> sets, int[] total) {
+            if (next == adjacency.length) {
+                sets.get(size).add(chosen);
+                return ++total[0] <= MAX_COMPONENT_SETS;
+            }
+            if (!collect(adjacency, next + 1, chosen, size, sets, total)) {
+                return false;
+            }
+            if ((adjacency[next] & chosen) == 0) {
+                return collect(adjacency, next + 1, chosen | (1L << next), size + 1, sets, total);
+            }
+            return true;
+        }
+
+        @Override
+        public int maxSize() {
+            return setsBySize.length - 1;
+        }
+
+        @Override
+        public double count(int taken) {
+            return taken <= maxSize() ? setsBySize[taken].length : 0;
+        }
+
+        @Override
+        public void pick(int taken, RandomGenerator random, List<Integer> selected) {
+            long[] candidates = setsBySize[taken];
+            long set = candidates[random.nextInt(candidates.length)];
+            for (int i = 0; i < nodes.length; i++) {
+                if ((set & (1L << i)) != 0) {
+                    selected.add(nodes[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * A component too large to enumerate. Sets are drawn by greedy passes in random
+     * order; {@code largest} is the largest compatible set found at compile time,
+     * used when the passes fall short.
+     */
+    private record GreedyComponent(OptionCompatibility compatibility, int[] nodes, int[] largest) implements Group {
+
+        static GreedyComponent of(OptionCompatibility compatibility, int[] nodes) {
+            // Fixed seed, so a preset always compiles to the same sampler
+            SplittableRandom random = new SplittableRandom(nodes.length);
+            int[] largest = new int[0];
+            for (int pass = 0; pass < GREEDY_PASSES; pass++) {
+                int[] set = greedy(compatibility, nodes, nodes.length, random);
+                if (set.length > largest.length) {
+                    largest = set;
+                }
+            }
+            return new GreedyComponent(compatibility, nodes, largest);
+        }
+
+        /**
+         * One pass over the nodes in random order, keeping each node compatible with
+         * those already kept, until {@code limit} nodes are kept.
+         */
+        private static int[] greedy(OptionCompatibility compatibility, int[] nodes, int limit, RandomGenerator random) {
+            List<Integer> order = new ArrayList<>(nodes.length);
+            for (int node : nodes) {
+                order.add(node);
+            }
+            shuffle(order, random);
+
+            long[] selection = compatibility.newSelection();
+            List<Integer> kept = new ArrayList<>(limit);
+            for (int node : order) {
+                if (kept.size() >= limit) {
+                    break;
+                }
+                if (!compatibility.excludesAny(node, selection)) {
+                    OptionCompatibility.set(selection, node);
+                    kept.add(node);
+                }
+            }
+            return kept.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        @Override
+        public int maxSize() {
+            return largest.length;
+        }
+
+        @Override
+        public double count(int taken) {
+            return binomial(largest.length, taken);
+        }
+
+        @Override
+        public void pick(int taken, RandomGenerator random, List<Integer> selected) {
+            for (int pass = 0; pass < GREEDY_PASSES; pass++) {
+                int[] set = greedy(compatibility, nodes, taken, random);
+                if (set.length == taken) {
+                    for (int node : set) {
+                        selected.add(node);
+                    }
+                    return;
+                }
+            }
+            // Any subset of a compatible set is compatible
+            int[] pool = largest.clone();
+            for (int i = 0; i < taken; i++) {
+                int j = i + random.nextInt(pool.length - i);
+                int swap = pool[i];
+                pool[i] = pool[j];
+                pool[j] = swap;
+                selected.add(pool[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package fr.rawz06.rslfrancobot.engine.usecases.franco;
+
+import fr.rawz06.rslfrancobot.engine.domain.entities.OptionCompatibility;
+import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Use Case: Randomly selects compatible options of a preset (Franco random mode).
+ * Every compatible set of the requested size has the same chance to be drawn;
+ * passing a seeded generator gives reproducible rolls.
+ */
+@Component
+public class SelectRandomOptionsUseCase {
+
+    private volatile Compiled compiled;
+
+    /**
+     * Selects up to {@code count} compatible option ids, fewer only if the preset
+     * has no compatible set that large.
+     */
+    public List<String> execute(Preset preset, int count, RandomGenerator random) {
+        if (count <= 0 || preset.availableOptions().isEmpty()) {
+            return List.of();
+        }
+
+        OptionCompatibility options = preset.compatibility();
+        return sampler(preset).sample(count, random).stream()
+                .map(index -> options.option(index).id())
+                .toList();
+    }
+
+    /**
+     * Sampler compiled once per preset instance.
+     */
+    private RandomOptionSampler sampler(Preset preset) {
+        Compiled current = compiled;
+        if (current == null || current.preset() != preset) {
+            current = new Compiled(preset, RandomOptionSampler.compile(preset.name(), preset.compatibility()));
+            compiled = current;
+        }
+        return current.sampler();
+    }
+
+    private record Compiled(Preset preset, RandomOptionSampler sampler) { }
+}
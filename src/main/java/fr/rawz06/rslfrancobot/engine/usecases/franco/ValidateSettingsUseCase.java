@@ -1,17 +1,17 @@
 package fr.rawz06.rslfrancobot.engine.usecases.franco;
 
+import fr.rawz06.rslfrancobot.engine.domain.entities.OptionCompatibility;
 import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
 import fr.rawz06.rslfrancobot.engine.domain.entities.ValidationResult;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * Use Case: Validates the consistency of user settings for Franco mode.
- * Checks incompatibilities between selected options.
+ * Checks incompatibilities between selected options, using the bitmasks
+ * compiled with the preset (see OptionCompatibility).
  */
 @Component
 public class ValidateSettingsUseCase {
@@ -21,19 +21,17 @@ public class ValidateSettingsUseCase {
             return ValidationResult.success();
         }
 
+        OptionCompatibility compatibility = preset.compatibility();
         List<String> errors = new ArrayList<>();
 
-        // Build options map for quick access
-        Map<String, Preset.PresetOption> optionsMap = preset.availableOptions().stream()
-                .collect(java.util.stream.Collectors.toMap(
-                        Preset.PresetOption::id,
-                        option -> option
-                ));
-
-        // Verify all selected options exist
+        // Verify all selected options exist, and build the selection bitmask
+        long[] selected = compatibility.newSelection();
         for (String selectedId : selectedOptionIds) {
-            if (!optionsMap.containsKey(selectedId)) {
+            int index = compatibility.indexOf(selectedId);
+            if (index < 0) {
                 errors.add("Unknown option: " + selectedId);
+            } else {
+                OptionCompatibility.set(selected, index);
             }
         }
 
@@ -41,23 +39,22 @@ public class ValidateSettingsUseCase {
             return ValidationResult.failure(errors);
         }
 
-        // Check incompatibilities
-        Set<String> selectedSet = Set.copyOf(selectedOptionIds);
-
+        // Check incompatibilities: one bitmask test per option, the conflicts are
+        // then listed in the order the option declares them
         for (String selectedId : selectedOptionIds) {
-            Preset.PresetOption option = optionsMap.get(selectedId);
-            List<String> incompatibilities = option.incompatibleWith();
-
-            if (incompatibilities != null) {
-                for (String incompatibleId : incompatibilities) {
-                    if (selectedSet.contains(incompatibleId)) {
-                        String incompatibleLabel = optionsMap.get(incompatibleId).label();
-                        errors.add(String.format(
-                                "Incompatibility detected: '%s' is not compatible with '%s'",
-                                option.label(),
-                                incompatibleLabel
-                        ));
-                    }
+            int index = compatibility.indexOf(selectedId);
+            if (!compatibility.conflictsWith(index, selected)) {
+                continue;
+            }
+            Preset.PresetOption option = compatibility.option(index);
+            for (String incompatibleId : option.incompatibleWith()) {
+                int other = compatibility.indexOf(incompatibleId);
+                if (other >= 0 && OptionCompatibility.isSet(selected, other)) {
+                    errors.add(String.format(
+                            "Incompatibility detected: '%s' is not compatible with '%s'",
+                            option.label(),
+                            compatibility.option(other).label()
+                    ));
                 }
             }
         }
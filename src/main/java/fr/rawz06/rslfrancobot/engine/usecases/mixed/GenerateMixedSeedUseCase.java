@@ -6,8 +6,11 @@ import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
 import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Use Case: Generates a seed in Mixed mode.
  * Uses fixed settings from mixed.json - no user configuration.
@@ -27,21 +30,38 @@ public class GenerateMixedSeedUseCase {
     }
 
     public SeedResult execute(SeedRequest request) throws GenerationException {
-        // 1. Retrieve Mixed preset (contains fixed settings from mixed.json)
-        Preset mixedPreset = presetRepository.getPreset("mixed")
-                .orElseThrow(() -> new GenerationException("Mixed preset not found"));
-
-        // 2. Create SettingsFile from preset's base settings (already complete)
-        SettingsFile settings = new SettingsFile(mixedPreset.baseSettings());
+        SettingsFile settings = buildSettings();
 
         // 3. Generate seed via API
         try {
-            return randomizerApi.generateSeed(request.mode(), settings);
+            return randomizerApi.generateSeed(request.mode(), settings, request.queueListener());
         } catch (RandomizerApi.RandomizerApiException e) {
             throw new GenerationException("Error during seed generation", e);
         }
     }
 
+    public CompletableFuture<SeedResult> executeAsync(SeedRequest request) {
+        SettingsFile settings;
+        try {
+            settings = buildSettings();
+        } catch (GenerationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // 3. Generate seed via API without blocking the caller
+        return AsyncFailures.wrap(randomizerApi.generateSeedAsync(request.mode(), settings, request.queueListener()),
+                cause -> new GenerationException("Error during seed generation", cause));
+    }
+
+    private SettingsFile buildSettings() throws GenerationException {
+        // 1. Retrieve Mixed preset (contains fixed settings from mixed.json)
+        Preset mixedPreset = presetRepository.getPreset("mixed")
+                .orElseThrow(() -> new GenerationException("Mixed preset not found"));
+
+        // 2. Create SettingsFile from preset's base settings (already complete)
+        return new SettingsFile(mixedPreset.baseSettings());
+    }
+
     public static class GenerationException extends Exception {
         public GenerationException(String message) {
             super(message);
@@ -3,10 +3,12 @@ package fr.rawz06.rslfrancobot.engine.usecases.rsl;
 import fr.rawz06.rslfrancobot.engine.domain.entities.*;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RSLSettingsFetcher;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Use Case: Generates a seed in RSL mode by fetching settings from an API.
@@ -26,6 +28,31 @@ public class GenerateRSLSeedFromAPIUseCase {
     }
 
     public SeedResult execute(SeedRequest request, String season) throws GenerationException {
+        SettingsFile finalSettings = buildSettings(season);
+
+        // 3. Generate seed via API
+        try {
+            return randomizerApi.generateSeed(request.mode(), finalSettings, request.queueListener());
+        } catch (RandomizerApi.RandomizerApiException e) {
+            throw new GenerationException("Error during seed generation", e);
+        }
+    }
+
+    public CompletableFuture<SeedResult> executeAsync(SeedRequest request, String season) {
+        // Settings are still fetched on the calling thread, only the API call is asynchronous
+        SettingsFile settings;
+        try {
+            settings = buildSettings(season);
+        } catch (GenerationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // 3. Generate seed via API without blocking the caller
+        return AsyncFailures.wrap(randomizerApi.generateSeedAsync(request.mode(), settings, request.queueListener()),
+                cause -> new GenerationException("Error during seed generation", cause));
+    }
+
+    private SettingsFile buildSettings(String season) throws GenerationException {
         // 1. Fetch settings from API
         SettingsFile generatedSettings;
         try {
@@ -43,14 +70,7 @@ public class GenerateRSLSeedFromAPIUseCase {
         settingsMap.put("create_spoiler", true);
         settingsMap.put("password_lock", false);
 
-        SettingsFile finalSettings = new SettingsFile(settingsMap);
-
-        // 3. Generate seed via API
-        try {
-            return randomizerApi.generateSeed(request.mode(), finalSettings);
-        } catch (RandomizerApi.RandomizerApiException e) {
-            throw new GenerationException("Error during seed generation", e);
-        }
+        return new SettingsFile(settingsMap);
     }
 
     public static class GenerationException extends Exception {
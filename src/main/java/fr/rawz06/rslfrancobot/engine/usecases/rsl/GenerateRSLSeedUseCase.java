@@ -4,10 +4,12 @@ import fr.rawz06.rslfrancobot.engine.domain.entities.*;
 import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RSLScriptRunner;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Use Case: Generates a seed in RSL, PoT, or Beginner mode.
@@ -31,6 +33,31 @@ public class GenerateRSLSeedUseCase {
     }
 
     public SeedResult execute(SeedRequest request) throws GenerationException {
+        SettingsFile finalSettings = buildSettings(request);
+
+        // 3. Generate seed via API
+        try {
+            return randomizerApi.generateSeed(request.mode(), finalSettings, request.queueListener());
+        } catch (RandomizerApi.RandomizerApiException e) {
+            throw new GenerationException("Error during seed generation", e);
+        }
+    }
+
+    public CompletableFuture<SeedResult> executeAsync(SeedRequest request) {
+        // Settings are still rolled on the calling thread (Python script), only the API call is asynchronous
+        SettingsFile settings;
+        try {
+            settings = buildSettings(request);
+        } catch (GenerationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // 3. Generate seed via API without blocking the caller
+        return AsyncFailures.wrap(randomizerApi.generateSeedAsync(request.mode(), settings, request.queueListener()),
+                cause -> new GenerationException("Error during seed generation", cause));
+    }
+
+    private SettingsFile buildSettings(SeedRequest request) throws GenerationException {
         // Determine preset name based on mode
         String presetName = switch (request.mode()) {
             case RSL -> "rsl";
@@ -46,7 +73,7 @@ public class GenerateRSLSeedUseCase {
         // 2. Generate settings via Python script
         SettingsFile generatedSettings;
         try {
-            generatedSettings = rslScriptRunner.generateSettings(preset);
+            generatedSettings = rslScriptRunner.generateSettings(preset, request.queueListener());
         } catch (RSLScriptRunner.ScriptExecutionException e) {
             throw new GenerationException("Error executing RSL script", e);
         }
@@ -64,14 +91,7 @@ public class GenerateRSLSeedUseCase {
         flatSettings.put("create_spoiler", true);
         flatSettings.put("password_lock", false);
 
-        SettingsFile finalSettings = new SettingsFile(flatSettings);
-
-        // 3. Generate seed via API
-        try {
-            return randomizerApi.generateSeed(request.mode(), finalSettings);
-        } catch (RandomizerApi.RandomizerApiException e) {
-            throw new GenerationException("Error during seed generation", e);
-        }
+        return new SettingsFile(flatSettings);
     }
 
     public static class GenerationException extends Exception {
@@ -3,8 +3,11 @@ package fr.rawz06.rslfrancobot.engine.usecases.s9;
 import fr.rawz06.rslfrancobot.engine.domain.entities.*;
 import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Use Case: Generates a seed in S9 mode.
  * Uses fixed settings from s9.json - no user configuration.
@@ -24,21 +27,38 @@ public class GenerateS9SeedUseCase {
     }
 
     public SeedResult execute(SeedRequest request) throws GenerationException {
-        // 1. Retrieve S9 preset (contains fixed settings from s9.json)
-        Preset s9Preset = presetRepository.getPreset("s9")
-                .orElseThrow(() -> new GenerationException("S9 preset not found"));
-
-        // 2. Create SettingsFile from preset's base settings (already complete)
-        SettingsFile settings = new SettingsFile(s9Preset.baseSettings());
+        SettingsFile settings = buildSettings();
 
         // 3. Generate seed via API
         try {
-            return randomizerApi.generateSeed(request.mode(), settings);
+            return randomizerApi.generateSeed(request.mode(), settings, request.queueListener());
         } catch (RandomizerApi.RandomizerApiException e) {
             throw new GenerationException("Error during seed generation", e);
         }
     }
 
+    public CompletableFuture<SeedResult> executeAsync(SeedRequest request) {
+        SettingsFile settings;
+        try {
+            settings = buildSettings();
+        } catch (GenerationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // 3. Generate seed via API without blocking the caller
+        return AsyncFailures.wrap(randomizerApi.generateSeedAsync(request.mode(), settings, request.queueListener()),
+                cause -> new GenerationException("Error during seed generation", cause));
+    }
+
+    private SettingsFile buildSettings() throws GenerationException {
+        // 1. Retrieve S9 preset (contains fixed settings from s9.json)
+        Preset s9Preset = presetRepository.getPreset("s9")
+                .orElseThrow(() -> new GenerationException("S9 preset not found"));
+
+        // 2. Create SettingsFile from preset's base settings (already complete)
+        return new SettingsFile(s9Preset.baseSettings());
+    }
+
     public static class GenerationException extends Exception {
         public GenerationException(String message) {
             super(message);
@@ -1,26 +1,39 @@
 package fr.rawz06.rslfrancobot.engine.usecases.salad;
 
 import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedRequest;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsOverlay;
 import fr.rawz06.rslfrancobot.engine.domain.ports.PresetRepository;
 import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi;
 import fr.rawz06.rslfrancobot.engine.usecases.salad.customsalad.*;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Use Case: Generates a seed in Salad mode.
  * Uses fixed settings from salad.json - no user configuration.
+ * The settings of each mode are computed once and reused until the preset changes.
  */
 @Component
 @RequiredArgsConstructor
 public class GenerateSaladSeedUseCase {
 
+    private static final Set<SeedMode> SALAD_MODES = EnumSet.of(
+            SeedMode.SALAD_RUPEES, SeedMode.SALAD_DUNGEONS, SeedMode.SALAD_SONGS, SeedMode.SALAD_MIX,
+            SeedMode.SALAD_ENEMY, SeedMode.SALAD_NATURE, SeedMode.SALAD_ALL);
+
     private final PresetRepository presetRepository;
     private final RandomizerApi randomizerApi;
 
@@ -32,19 +45,87 @@ public class GenerateSaladSeedUseCase {
     private final CustomSaladEnemyUseCase customSaladEnemyUseCase;
     private final CustomSaladNatureUseCase customSaladNatureUseCase;
 
+    private volatile Variants variants;
+
     public SeedResult execute(SeedRequest request) throws GenerationException {
+        SettingsFile settingsFile = buildSettings(request);
+
+        // 5. Generate seed via API
+        try {
+            return randomizerApi.generateSeed(request.mode(), settingsFile, request.queueListener());
+        } catch (RandomizerApi.RandomizerApiException e) {
+            throw new GenerateSaladSeedUseCase.GenerationException("Error during seed generation", e);
+        }
+    }
+
+    public CompletableFuture<SeedResult> executeAsync(SeedRequest request) {
+        SettingsFile settings;
+        try {
+            settings = buildSettings(request);
+        } catch (GenerationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // 5. Generate seed via API without blocking the caller
+        return AsyncFailures.wrap(randomizerApi.generateSeedAsync(request.mode(), settings, request.queueListener()),
+                cause -> new GenerationException("Error during seed generation", cause));
+    }
+
+    /**
+     * Computes the settings of every Salad mode ahead of the first request.
+     */
+    public void precompute() throws GenerationException {
+        variants();
+    }
+
+    private SettingsFile buildSettings(SeedRequest request) throws GenerationException {
+        List<SettingsFile> candidates = variants().settings().get(request.mode());
+        if (candidates == null) {
+            throw new GenerateSaladSeedUseCase.GenerationException("Unsupported Salad mode: " + request.mode());
+        }
+
+        // SALAD_RUPEES has one variant per shuffled key, pick one at random
+        return candidates.size() == 1
+                ? candidates.getFirst()
+                : candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+
+    /**
+     * Settings of each mode, computed once per loaded salad preset.
+     */
+    private Variants variants() throws GenerationException {
         // 1. Retrieve salad preset (contains fixed settings from salad.json)
         Preset preset = presetRepository.getPreset("salad")
                 .orElseThrow(() -> new GenerationException("Salad preset not found"));
 
-        // 2. Create a mutable copy of base settings
-        Map<String, Object> settings = new HashMap<>(preset.baseSettings());
+        Variants current = variants;
+        if (current == null || current.preset() != preset) {
+            Map<SeedMode, List<SettingsFile>> settings = new EnumMap<>(SeedMode.class);
+            for (SeedMode mode : SALAD_MODES) {
+                settings.put(mode, computeVariants(preset, mode));
+            }
+            current = new Variants(preset, settings);
+            variants = current;
+        }
+        return current;
+    }
+
+    private List<SettingsFile> computeVariants(Preset preset, SeedMode mode) {
+        if (mode == SeedMode.SALAD_RUPEES) {
+            return CustomSaladRupeeUseCase.SHUFFLED_KEYS.stream()
+                    .map(key -> {
+                        Map<String, Object> settings = new SettingsOverlay(preset.baseSettings());
+                        customSaladRupeeUseCase.custom(settings, key);
+                        return new SettingsFile(settings);
+                    })
+                    .toList();
+        }
+
+        // 2. Overlay the base settings (reads through, nothing is copied)
+        Map<String, Object> settings = new SettingsOverlay(preset.baseSettings());
 
         // 3. Apply mode-specific modifications
-        switch (request.mode()) {
-            case SALAD_RUPEES:
-                customSaladRupeeUseCase.custom(settings);
-                break;
+        switch (mode) {
             case SALAD_DUNGEONS:
                 customSaladDungeonUseCase.custom(settings);
                 break;
@@ -62,7 +143,8 @@ public class GenerateSaladSeedUseCase {
                 break;
             case SALAD_ALL:
                 customSaladBossUseCase.custom(settings);
-                customSaladRupeeUseCase.custom(settings);
+                // The shuffled key is turned off right below, so any variant gives the same result
+                customSaladRupeeUseCase.custom(settings, CustomSaladRupeeUseCase.SHUFFLED_KEYS.getFirst());
                 customSaladDungeonUseCase.custom(settings);
                 customSaladSongsUseCase.custom(settings);
                 customSaladMixUseCase.custom(settings);
@@ -71,20 +153,15 @@ public class GenerateSaladSeedUseCase {
                 settings.put("shuffle_freestanding_items", "off");
                 break;
             default:
-                throw new GenerateSaladSeedUseCase.GenerationException("Unsupported Salad mode: " + request.mode());
+                throw new IllegalStateException("Unexpected Salad mode: " + mode);
         }
 
         // 4. Create SettingsFile from modified settings
-        SettingsFile settingsFile = new SettingsFile(settings);
-
-        // 5. Generate seed via API
-        try {
-            return randomizerApi.generateSeed(request.mode(), settingsFile);
-        } catch (RandomizerApi.RandomizerApiException e) {
-            throw new GenerateSaladSeedUseCase.GenerationException("Error during seed generation", e);
-        }
+        return List.of(new SettingsFile(settings));
     }
 
+    private record Variants(Preset preset, Map<SeedMode, List<SettingsFile>> settings) { }
+
     public static class GenerationException extends Exception {
         public GenerationException(String message) {
             super(message);
@@ -2,20 +2,28 @@ package fr.rawz06.rslfrancobot.engine.usecases.salad.customsalad;
 
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
 @Component
 public class CustomSaladRupeeUseCase {
+    /**
+     * One of these is shuffled ("all"), picked at random for each seed.
+     */
+    public static final List<String> SHUFFLED_KEYS = List.of(
+            "shuffle_pots",
+            "shuffle_crates",
+            "shuffle_freestanding_items"
+    );
+
     public void custom(Map<String, Object> settings) {
+        custom(settings, SHUFFLED_KEYS.get(new Random().nextInt(SHUFFLED_KEYS.size())));
+    }
+
+    public void custom(Map<String, Object> settings, String shuffledKey) {
         settings.put("shopsanity", '4');
-        String[] keys = {
-                "shuffle_pots",
-                "shuffle_crates",
-                "shuffle_freestanding_items"
-        };
-        String key = keys[new Random().nextInt(keys.length)];
-        settings.put(key, "all");
+        settings.put(shuffledKey, "all");
         settings.put("shuffle_scrubs", "low");
         settings.put("shuffle_beans", true);
         settings.put("shuffle_expensive_merchants", true);
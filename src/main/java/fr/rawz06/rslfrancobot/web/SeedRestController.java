@@ -1,15 +1,24 @@
 package fr.rawz06.rslfrancobot.web;
 
+import fr.rawz06.rslfrancobot.bot.services.SeedScheduler;
 import fr.rawz06.rslfrancobot.bot.services.SeedService;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
 import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
+import fr.rawz06.rslfrancobot.engine.usecases.AsyncFailures;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Seed generation over HTTP. Calls share the Discord fair-share caps
+ * (app.seed.scheduler.*), one user per client address: a client over its caps
+ * gets 429 Too Many Requests.
+ */
 @RestController
 @RequestMapping("/api/generate")
 @RequiredArgsConstructor
@@ -19,15 +28,24 @@ public class SeedRestController {
     private final SeedService seedService;
 
     @GetMapping("/{modeId}")
-    public SeedResult generateSeed(@PathVariable String modeId, @RequestParam(required = false, defaultValue = "api-user") String userId) {
+    public CompletableFuture<SeedResult> generateSeed(@PathVariable String modeId, HttpServletRequest request) {
         SeedMode mode = SeedModeAPI.fromApiId(modeId)
                 .map(SeedModeAPI::getSeedMode)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Mode not found or not supported via API: " + modeId));
 
-        try {
-            return seedService.generateSeed(mode, userId, Map.of());
-        } catch (SeedService.SeedGenerationException e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error during seed generation: " + e.getMessage(), e);
-        }
+        // Caps apply per client address, so a caller cannot dodge them by changing a parameter
+        String userId = "api:" + request.getRemoteAddr();
+
+        // Servlet thread is released while the seed waits for its turn and is generated
+        return seedService.generateSeedAsync(mode, userId, Map.of())
+                .exceptionallyCompose(e -> {
+                    Throwable cause = AsyncFailures.unwrap(e);
+                    if (cause.getCause() instanceof SeedScheduler.SchedulingException rejected) {
+                        return CompletableFuture.failedFuture(new ResponseStatusException(
+                                HttpStatus.TOO_MANY_REQUESTS, rejected.getMessage(), rejected));
+                    }
+                    return CompletableFuture.failedFuture(new ResponseStatusException(
+                            HttpStatus.INTERNAL_SERVER_ERROR, "Error during seed generation: " + cause.getMessage(), cause));
+                });
     }
 }
@@ -0,0 +1,63 @@
+"""
+Runs RandomSettingsGenerator.py and streams the generated settings on stdout
+instead of leaving a plando file in data/.
+
+Usage (from the plando-random-settings directory):
+    python3 rsl_pipe.py RandomSettingsGenerator.py --override weights/x.json --no_seed
+
+The generator's own output is printed first, then a line containing only
+__RSL_SETTINGS__, then the settings JSON. Writes to data/*.json are kept in
+memory, so concurrent runs in the same directory cannot collide.
+"""
+import builtins
+import io
+import os
+import runpy
+import sys
+
+MARKER = "__RSL_SETTINGS__"
+
+captured = []
+real_open = builtins.open
+
+
+class CapturedFile(io.StringIO):
+    def close(self):
+        if not self.closed:
+            captured.append(self.getvalue())
+        super().close()
+
+
+def capturing_open(file, mode="r", *args, **kwargs):
+    if isinstance(file, (str, os.PathLike)) and "w" in mode and "b" not in mode:
+        path = os.path.abspath(os.fspath(file))
+        if path.endswith(".json") and os.path.basename(os.path.dirname(path)) == "data":
+            return CapturedFile()
+    return real_open(file, mode, *args, **kwargs)
+
+
+def main():
+    script = sys.argv[1]
+    sys.argv = [script] + sys.argv[2:]
+    sys.path.insert(0, os.getcwd())
+
+    builtins.open = capturing_open
+    try:
+        runpy.run_path(script, run_name="__main__")
+    except SystemExit as e:
+        if e.code not in (None, 0):
+            raise
+    finally:
+        builtins.open = real_open
+
+    if not captured:
+        sys.exit("The generator did not write any settings file")
+
+    sys.stderr.flush()
+    sys.stdout.write("\n" + MARKER + "\n")
+    sys.stdout.write(captured[-1])
+    sys.stdout.flush()
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,114 @@
+"""
+Long-lived worker running RandomSettingsGenerator.py on demand.
+
+Started by PythonWorkerPool with the plando-random-settings directory as
+working directory. Reads one JSON request per line on stdin and answers with
+one JSON line on stdout:
+
+    {"type": "generate", "override": "weights/rsl_pot.json"}
+        -> {"ok": true, "settings": {...}}
+    {"type": "ping"}
+        -> {"ok": true}
+
+Errors are answered with {"ok": false, "error": "..."}. Anything the
+generator prints is sent to stderr so it never breaks the framing. The plando
+file the generator writes in data/ is kept in memory, as in rsl_pipe.py, so
+workers sharing the directory never touch the disk nor collide.
+"""
+import builtins
+import contextlib
+import io
+import json
+import os
+import re
+import runpy
+import sys
+import traceback
+
+SCRIPT = sys.argv[1] if len(sys.argv) > 1 else "RandomSettingsGenerator.py"
+PLANDO_FILE = re.compile(r"Plando File: (.+\.json)")
+
+# Keep the real stdout for the protocol, send fd 1 to stderr for everything else
+protocol = os.fdopen(os.dup(1), "w", encoding="utf-8")
+os.dup2(2, 1)
+sys.stdout = sys.stderr
+
+# The generator imports its own modules from the working directory
+sys.path.insert(0, os.getcwd())
+
+real_open = builtins.open
+
+
+class CapturedFile(io.StringIO):
+    def __init__(self, name, files):
+        super().__init__()
+        self.name = name
+        self.files = files
+
+    def close(self):
+        if not self.closed:
+            self.files[self.name] = self.getvalue()
+        super().close()
+
+
+def capturing_open(files):
+    def open_(file, mode="r", *args, **kwargs):
+        if isinstance(file, (str, os.PathLike)) and "w" in mode and "b" not in mode:
+            path = os.path.abspath(os.fspath(file))
+            if path.endswith(".json") and os.path.basename(os.path.dirname(path)) == "data":
+                return CapturedFile(os.path.basename(path), files)
+        return real_open(file, mode, *args, **kwargs)
+    return open_
+
+
+def generate(override):
+    captured = io.StringIO()
+    files = {}
+    sys.argv = [SCRIPT, "--override", override, "--no_seed"]
+    builtins.open = capturing_open(files)
+    try:
+        with contextlib.redirect_stdout(captured):
+            runpy.run_path(SCRIPT, run_name="__main__")
+    except SystemExit as e:
+        if e.code not in (None, 0):
+            raise RuntimeError("Script exited with code %s: %s" % (e.code, captured.getvalue()[-2000:]))
+    finally:
+        builtins.open = real_open
+
+    output = captured.getvalue()
+    sys.stderr.write(output)
+    match = PLANDO_FILE.search(output)
+    if not match:
+        raise RuntimeError("Could not find 'Plando File: XXX.json' in script output")
+
+    name = os.path.basename(match.group(1))
+    if name not in files:
+        raise RuntimeError("The generator did not write %s" % name)
+    return json.loads(files[name])
+
+
+def handle(request):
+    kind = request.get("type")
+    if kind == "ping":
+        return {"ok": True}
+    if kind == "generate":
+        return {"ok": True, "settings": generate(request["override"])}
+    return {"ok": False, "error": "Unknown request type: %s" % kind}
+
+
+def main():
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+        try:
+            response = handle(json.loads(line))
+        except Exception as e:
+            traceback.print_exc(file=sys.stderr)
+            response = {"ok": False, "error": "%s: %s" % (type(e).__name__, e)}
+        protocol.write(json.dumps(response) + "\n")
+        protocol.flush()
+
+
+if __name__ == "__main__":
+    main()
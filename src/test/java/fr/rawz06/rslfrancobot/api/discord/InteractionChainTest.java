@@ -0,0 +1,105 @@
+package fr.rawz06.rslfrancobot.api.discord;
+
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InteractionChainTest {
+
+    private final InteractionChain chain = new InteractionChain();
+    private final InteractionHook hook = mock(InteractionHook.class);
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void waitsForTheAcknowledgment() throws Exception {
+        CompletableFuture<InteractionHook> acknowledged = new CompletableFuture<>();
+        CompletableFuture<Void> deferred = chain.defer(action(acknowledged));
+        assertTrue(chain.isDeferred());
+
+        CompletableFuture<Void> edit = chain.then("edit", deferredHook -> {
+            assertSame(hook, deferredHook);
+            return send("edit", CompletableFuture.completedFuture(null));
+        });
+        assertEquals(List.of(), sent);
+
+        acknowledged.complete(hook);
+        deferred.get();
+        edit.get();
+        assertEquals(List.of("edit"), sent);
+    }
+
+    @Test
+    void sendsCallsInTheOrderTheyWereMade() throws Exception {
+        chain.defer(action(CompletableFuture.completedFuture(hook)));
+        CompletableFuture<Object> firstAnswer = new CompletableFuture<>();
+
+        chain.then("first", deferredHook -> send("first", firstAnswer));
+        CompletableFuture<Void> second = chain.then("second", deferredHook -> send("second", CompletableFuture.completedFuture(null)));
+        assertEquals(List.of("first"), sent);
+
+        firstAnswer.complete(null);
+        second.get();
+        assertEquals(List.of("first", "second"), sent);
+    }
+
+    @Test
+    void failedCallDoesNotStopTheNextOnes() throws Exception {
+        chain.defer(action(CompletableFuture.completedFuture(hook)));
+
+        CompletableFuture<Void> first = chain.then("first",
+                deferredHook -> send("first", CompletableFuture.failedFuture(new IllegalStateException("Unknown Message"))));
+        CompletableFuture<Void> second = chain.then("second", deferredHook -> send("second", CompletableFuture.completedFuture(null)));
+
+        ExecutionException error = assertThrows(ExecutionException.class, first::get);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        second.get();
+        assertEquals(List.of("first", "second"), sent);
+    }
+
+    @Test
+    void failedAcknowledgmentSkipsTheFollowingCalls() {
+        CompletableFuture<Void> deferred = chain.defer(action(
+                CompletableFuture.failedFuture(new IllegalStateException("Unknown Interaction"))));
+        CompletableFuture<Void> edit = chain.then("edit", deferredHook -> send("edit", CompletableFuture.completedFuture(null)));
+
+        ExecutionException deferError = assertThrows(ExecutionException.class, deferred::get);
+        InteractionChain.DeferFailedException failure =
+                assertInstanceOf(InteractionChain.DeferFailedException.class, deferError.getCause());
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+        ExecutionException editError = assertThrows(ExecutionException.class, edit::get);
+        assertInstanceOf(InteractionChain.DeferFailedException.class, editError.getCause());
+        assertEquals(List.of(), sent);
+    }
+
+    @Test
+    void isNotDeferredBeforeTheAcknowledgment() {
+        assertFalse(chain.isDeferred());
+    }
+
+    private RestAction<?> send(String name, CompletableFuture<Object> answer) {
+        sent.add(name);
+        return action(answer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> RestAction<T> action(CompletableFuture<T> answer) {
+        RestAction<T> action = mock(RestAction.class);
+        when(action.submit()).thenReturn(answer);
+        return action;
+    }
+}
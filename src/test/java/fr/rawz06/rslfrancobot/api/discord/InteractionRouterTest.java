@@ -0,0 +1,140 @@
+package fr.rawz06.rslfrancobot.api.discord;
+
+import fr.rawz06.rslfrancobot.bot.handlers.InteractionRoute;
+import fr.rawz06.rslfrancobot.bot.models.DiscordInteraction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class InteractionRouterTest {
+
+    private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    private final InteractionRouter router = new InteractionRouter(beanFactory);
+
+    @Test
+    void routesExactIdsThenLongestPrefix() {
+        beanFactory.addBean("seedHandlers", new SeedHandlers());
+        beanFactory.addBean("notAHandler", "plain bean");
+        router.afterSingletonsInstantiated();
+
+        assertEquals(Optional.of("SeedHandlers.s9"), routeName(InteractionRoute.Type.BUTTON, "seed_s9"));
+        assertEquals(Optional.of("SeedHandlers.seed"), routeName(InteractionRoute.Type.COMMAND, "seed"));
+        assertEquals(Optional.of("SeedHandlers.francoSelect"), routeName(InteractionRoute.Type.MENU, "franco_select_2"));
+        assertEquals(Optional.of("SeedHandlers.franco"), routeName(InteractionRoute.Type.MENU, "franco_other"));
+        assertEquals(Optional.of("SeedHandlers.francoExact"), routeName(InteractionRoute.Type.MENU, "franco_select_"));
+    }
+
+    @Test
+    void findsNothingForUnknownIdsOrTypes() {
+        beanFactory.addBean("seedHandlers", new SeedHandlers());
+        router.afterSingletonsInstantiated();
+
+        assertTrue(routeName(InteractionRoute.Type.MENU, "seed_s9").isEmpty());
+        assertTrue(routeName(InteractionRoute.Type.BUTTON, "seed_s8").isEmpty());
+        assertTrue(routeName(InteractionRoute.Type.MENU, "fran").isEmpty());
+    }
+
+    @Test
+    void findsNothingBeforeStartup() {
+        beanFactory.addBean("seedHandlers", new SeedHandlers());
+
+        assertTrue(routeName(InteractionRoute.Type.BUTTON, "seed_s9").isEmpty());
+    }
+
+    @Test
+    void handlesTheInteractionWithTheBean() {
+        SeedHandlers handlers = new SeedHandlers();
+        beanFactory.addBean("seedHandlers", handlers);
+        router.afterSingletonsInstantiated();
+        DiscordInteraction interaction = mock(DiscordInteraction.class);
+
+        router.find(InteractionRoute.Type.BUTTON, "seed_s9").orElseThrow().handle(interaction);
+
+        assertEquals(1, handlers.handled.size());
+        assertSame(interaction, handlers.handled.get(0));
+    }
+
+    @Test
+    void rethrowsHandlerFailures() {
+        beanFactory.addBean("seedHandlers", new SeedHandlers());
+        router.afterSingletonsInstantiated();
+        InteractionRouter.Route route = router.find(InteractionRoute.Type.BUTTON, "seed_broken").orElseThrow();
+
+        assertThrows(IllegalArgumentException.class, () -> route.handle(mock(DiscordInteraction.class)));
+    }
+
+    @Test
+    void refusesIdsServedTwice() {
+        beanFactory.addBean("seedHandlers", new SeedHandlers());
+        beanFactory.addBean("duplicateHandlers", new DuplicateHandlers());
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, router::afterSingletonsInstantiated);
+        assertTrue(error.getMessage().contains("seed_s9"), error::getMessage);
+    }
+
+    @Test
+    void refusesHandlersWithoutAnInteractionParameter() {
+        beanFactory.addBean("invalidHandlers", new InvalidHandlers());
+
+        assertThrows(IllegalStateException.class, router::afterSingletonsInstantiated);
+    }
+
+    private Optional<String> routeName(InteractionRoute.Type type, String id) {
+        return router.find(type, id).map(InteractionRouter.Route::name);
+    }
+
+    static class SeedHandlers {
+        private final List<DiscordInteraction> handled = new ArrayList<>();
+
+        @InteractionRoute(type = InteractionRoute.Type.COMMAND, ids = "seed")
+        public void seed(DiscordInteraction interaction) {
+            handled.add(interaction);
+        }
+
+        @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "seed_s9")
+        public void s9(DiscordInteraction interaction) {
+            handled.add(interaction);
+        }
+
+        @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "seed_broken")
+        public void broken(DiscordInteraction interaction) {
+            throw new IllegalArgumentException("broken handler");
+        }
+
+        @InteractionRoute(type = InteractionRoute.Type.MENU, prefixes = "franco_")
+        public void franco(DiscordInteraction interaction) {
+            handled.add(interaction);
+        }
+
+        @InteractionRoute(type = InteractionRoute.Type.MENU, prefixes = "franco_select_")
+        public void francoSelect(DiscordInteraction interaction) {
+            handled.add(interaction);
+        }
+
+        @InteractionRoute(type = InteractionRoute.Type.MENU, ids = "franco_select_")
+        public void francoExact(DiscordInteraction interaction) {
+            handled.add(interaction);
+        }
+    }
+
+    static class DuplicateHandlers {
+        @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "seed_s9")
+        public void s9(DiscordInteraction interaction) {
+        }
+    }
+
+    static class InvalidHandlers {
+        @InteractionRoute(type = InteractionRoute.Type.BUTTON, ids = "seed_s9")
+        public void s9() {
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package fr.rawz06.rslfrancobot.api.discord;
+
+import fr.rawz06.rslfrancobot.config.InteractionSessionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractionSessionStoreTest {
+
+    private final InteractionSessionProperties properties = new InteractionSessionProperties();
+    private InteractionSessionStore store;
+
+    @AfterEach
+    void shutdown() {
+        if (store != null) {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    void keepsDataPerScope() {
+        store = new InteractionSessionStore(properties);
+
+        store.getOrCreate("user1:menu").put("selected", List.of("keysy"));
+        store.getOrCreate("user2:menu").put("selected", List.of("minimal"));
+
+        assertEquals(List.of("keysy"), store.get("user1:menu").get("selected"));
+        assertEquals(List.of("minimal"), store.get("user2:menu").get("selected"));
+        assertSame(store.getOrCreate("user1:menu"), store.get("user1:menu"));
+        assertEquals(2, store.stats().created());
+    }
+
+    @Test
+    void missingSessionIsEmptyAndReadOnly() {
+        store = new InteractionSessionStore(properties);
+
+        Map<String, Object> missing = store.get("user:menu");
+
+        assertTrue(missing.isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> missing.put("selected", List.of()));
+        assertEquals(0, store.stats().sessions());
+    }
+
+    @Test
+    void removeDropsTheSession() {
+        store = new InteractionSessionStore(properties);
+        store.getOrCreate("user:menu").put("selected", List.of("keysy"));
+
+        store.remove("user:menu");
+
+        assertTrue(store.get("user:menu").isEmpty());
+        assertEquals(0, store.stats().sessions());
+    }
+
+    @Test
+    void dropsIdleSessionsOnAccess() throws Exception {
+        properties.setIdleTtl(Duration.ofMillis(50));
+        store = new InteractionSessionStore(properties);
+        store.getOrCreate("user:menu").put("selected", List.of("keysy"));
+
+        Thread.sleep(100);
+
+        assertTrue(store.get("user:menu").isEmpty());
+        assertTrue(store.getOrCreate("user:menu").isEmpty());
+        assertEquals(1, store.stats().expired());
+    }
+
+    @Test
+    void cleanupDropsIdleSessionsInTheBackground() throws Exception {
+        properties.setIdleTtl(Duration.ofMillis(50));
+        properties.setCleanupInterval(Duration.ofMillis(20));
+        store = new InteractionSessionStore(properties);
+        store.startCleanup();
+        store.getOrCreate("first:menu");
+        store.getOrCreate("second:menu");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (store.stats().sessions() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, store.stats().sessions());
+        assertEquals(2, store.stats().expired());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedSessionWhenFull() {
+        properties.setMaxSessions(2);
+        store = new InteractionSessionStore(properties);
+        store.getOrCreate("first:menu").put("selected", List.of("keysy"));
+        store.getOrCreate("second:menu").put("selected", List.of("minimal"));
+
+        // Using the first session makes the second one the least recently used
+        store.get("first:menu");
+        store.getOrCreate("third:menu");
+
+        assertEquals(List.of("keysy"), store.get("first:menu").get("selected"));
+        assertTrue(store.get("second:menu").isEmpty());
+        assertEquals(2, store.stats().sessions());
+        assertEquals(1, store.stats().evicted());
+        assertEquals(2, store.stats().peakSessions());
+    }
+}
@@ -0,0 +1,165 @@
+package fr.rawz06.rslfrancobot.api.python;
+
+import fr.rawz06.rslfrancobot.config.ScriptConcurrencyProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RSLScriptRunner.ScriptExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptExecutionLimiterTest {
+
+    private final ScriptConcurrencyProperties properties = new ScriptConcurrencyProperties();
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        gate.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    void boundsConcurrentRuns() throws Exception {
+        properties.setMaxConcurrent(2);
+        ScriptExecutionLimiter limiter = new ScriptExecutionLimiter(properties);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        List<Future<String>> runs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            runs.add(threads.submit(() -> limiter.execute(QueueListener.NONE, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                awaitGate();
+                running.decrementAndGet();
+                return "settings";
+            })));
+        }
+        awaitQueueDepth(limiter, 4);
+        assertEquals(2, limiter.stats().running());
+
+        gate.countDown();
+        for (Future<String> run : runs) {
+            assertEquals("settings", run.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, peak.get());
+        assertEquals(0, limiter.stats().running());
+        assertEquals(4, limiter.stats().totalQueued());
+    }
+
+    @Test
+    void servesWaitingRunsInOrderAndUpdatesTheirPositions() throws Exception {
+        properties.setMaxConcurrent(1);
+        ScriptExecutionLimiter limiter = new ScriptExecutionLimiter(properties);
+        List<Integer> secondPositions = new CopyOnWriteArrayList<>();
+        List<Integer> thirdPositions = new CopyOnWriteArrayList<>();
+        List<String> runs = new CopyOnWriteArrayList<>();
+
+        Future<?> first = threads.submit(() -> limiter.execute(QueueListener.NONE, this::awaitGate));
+        awaitRunning(limiter);
+        Future<?> second = threads.submit(() -> limiter.execute(
+                (queue, position) -> secondPositions.add(position), () -> runs.add("second")));
+        awaitQueueDepth(limiter, 1);
+        Future<?> third = threads.submit(() -> limiter.execute(
+                (queue, position) -> thirdPositions.add(position), () -> runs.add("third")));
+        awaitQueueDepth(limiter, 2);
+        awaitNotified(secondPositions);
+        awaitNotified(thirdPositions);
+
+        gate.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        third.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1), secondPositions);
+        assertEquals(List.of(2, 1), thirdPositions);
+        assertEquals(List.of("second", "third"), runs);
+    }
+
+    @Test
+    void rejectsRunsOverTheQueueSize() throws Exception {
+        properties.setMaxConcurrent(1);
+        properties.setMaxQueueSize(1);
+        ScriptExecutionLimiter limiter = new ScriptExecutionLimiter(properties);
+
+        threads.submit(() -> limiter.execute(QueueListener.NONE, this::awaitGate));
+        awaitRunning(limiter);
+        threads.submit(() -> limiter.execute(QueueListener.NONE, () -> true));
+        awaitQueueDepth(limiter, 1);
+
+        assertThrows(ScriptExecutionException.class, () -> limiter.execute(QueueListener.NONE, () -> true));
+    }
+
+    @Test
+    void givesUpAfterTheMaximumWait() throws Exception {
+        properties.setMaxConcurrent(1);
+        properties.setMaxWait(Duration.ofMillis(100));
+        ScriptExecutionLimiter limiter = new ScriptExecutionLimiter(properties);
+
+        threads.submit(() -> limiter.execute(QueueListener.NONE, this::awaitGate));
+        awaitRunning(limiter);
+
+        ScriptExecutionException error = assertThrows(ScriptExecutionException.class,
+                () -> limiter.execute(QueueListener.NONE, () -> true));
+        assertTrue(error.getMessage().startsWith("Timed out"), error::getMessage);
+        assertEquals(0, limiter.stats().queueDepth());
+        assertEquals(1, limiter.stats().running());
+    }
+
+    @Test
+    void releasesTheSlotWhenTheRunFails() throws Exception {
+        properties.setMaxConcurrent(1);
+        ScriptExecutionLimiter limiter = new ScriptExecutionLimiter(properties);
+
+        assertThrows(ScriptExecutionException.class, () -> limiter.execute(QueueListener.NONE, () -> {
+            throw new ScriptExecutionException("script failed");
+        }));
+        assertEquals(0, limiter.stats().running());
+        assertEquals("settings", limiter.execute(QueueListener.NONE, () -> "settings"));
+    }
+
+    private boolean awaitGate() {
+        try {
+            return gate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitRunning(ScriptExecutionLimiter limiter) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.stats().running() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, limiter.stats().running());
+    }
+
+    private static void awaitNotified(List<Integer> positions) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (positions.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQueueDepth(ScriptExecutionLimiter limiter, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.stats().queueDepth() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, limiter.stats().queueDepth(), "queue depth");
+    }
+}
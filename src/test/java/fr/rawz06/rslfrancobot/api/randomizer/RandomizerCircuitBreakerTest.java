@@ -0,0 +1,88 @@
+package fr.rawz06.rslfrancobot.api.randomizer;
+
+import fr.rawz06.rslfrancobot.config.RandomizerCircuitBreakerProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi.RandomizerApiException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RandomizerCircuitBreakerTest {
+
+    private final RandomizerCircuitBreakerProperties properties = new RandomizerCircuitBreakerProperties();
+    private final RandomizerCircuitBreaker breaker = new RandomizerCircuitBreaker(properties);
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        properties.setFailureThreshold(3);
+
+        fail("dev", 2);
+        assertDoesNotThrow(() -> breaker.checkAvailable("dev"));
+        fail("dev", 1);
+        assertThrows(RandomizerApiException.class, () -> breaker.checkAvailable("dev"));
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        properties.setFailureThreshold(3);
+
+        fail("dev", 2);
+        breaker.recordSuccess("dev");
+        fail("dev", 2);
+        assertDoesNotThrow(() -> breaker.checkAvailable("dev"));
+    }
+
+    @Test
+    void keepsOneCircuitPerVersion() {
+        properties.setFailureThreshold(1);
+
+        fail("dev", 1);
+        assertThrows(RandomizerApiException.class, () -> breaker.checkAvailable("dev"));
+        assertDoesNotThrow(() -> breaker.checkAvailable("stable"));
+    }
+
+    @Test
+    void letsOneTrialThroughOnceTheOpenDurationIsOver() throws Exception {
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ofMillis(100));
+
+        fail("dev", 1);
+        Thread.sleep(150);
+        assertDoesNotThrow(() -> breaker.checkAvailable("dev"));
+        // The trial call is in progress: others are still rejected
+        assertThrows(RandomizerApiException.class, () -> breaker.checkAvailable("dev"));
+
+        breaker.recordSuccess("dev");
+        assertDoesNotThrow(() -> breaker.checkAvailable("dev"));
+        assertDoesNotThrow(() -> breaker.checkAvailable("dev"));
+    }
+
+    @Test
+    void failedTrialOpensTheCircuitAgain() throws Exception {
+        properties.setFailureThreshold(5);
+        properties.setOpenDuration(Duration.ofMillis(100));
+
+        fail("dev", 5);
+        Thread.sleep(150);
+        breaker.checkAvailable("dev");
+        fail("dev", 1);
+        assertThrows(RandomizerApiException.class, () -> breaker.checkAvailable("dev"));
+    }
+
+    @Test
+    void disabledBreakerNeverRejects() {
+        properties.setEnabled(false);
+        properties.setFailureThreshold(1);
+
+        fail("dev", 10);
+        assertDoesNotThrow(() -> breaker.checkAvailable("dev"));
+    }
+
+    private void fail(String version, int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.recordFailure(version);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package fr.rawz06.rslfrancobot.api.randomizer;
+
+import fr.rawz06.rslfrancobot.config.RandomizerRateLimitProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+import fr.rawz06.rslfrancobot.engine.domain.ports.RandomizerApi.RandomizerApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomizerRateLimiterTest {
+
+    private final RandomizerRateLimitProperties properties = new RandomizerRateLimitProperties();
+    private RandomizerRateLimiter limiter;
+
+    @AfterEach
+    void shutdown() {
+        if (limiter != null) {
+            limiter.shutdown();
+        }
+    }
+
+    @Test
+    void grantsBurstThenQueuesInOrder() throws Exception {
+        properties.setBurst(2);
+        // One token every 50ms
+        properties.setRequestsPerMinute(1200);
+        limiter = new RandomizerRateLimiter(properties);
+        List<String> positions = new CopyOnWriteArrayList<>();
+
+        assertTrue(limiter.acquire("key", QueueListener.NONE).isDone());
+        assertTrue(limiter.acquire("key", QueueListener.NONE).isDone());
+        CompletableFuture<Void> third = limiter.acquire("key", (queue, position) -> positions.add("third #" + position));
+        CompletableFuture<Void> fourth = limiter.acquire("key", (queue, position) -> positions.add("fourth #" + position));
+
+        assertFalse(third.isDone());
+        assertFalse(fourth.isDone());
+        third.get(1, TimeUnit.SECONDS);
+        assertFalse(fourth.isDone(), "one token at a time");
+        fourth.get(1, TimeUnit.SECONDS);
+        assertEquals(List.of("third #1", "fourth #2", "fourth #1"), positions);
+    }
+
+    @Test
+    void rejectsCallsOverTheQueueSize() {
+        properties.setBurst(1);
+        properties.setRequestsPerMinute(1);
+        properties.setMaxQueueSize(1);
+        limiter = new RandomizerRateLimiter(properties);
+
+        assertTrue(limiter.acquire("key", QueueListener.NONE).isDone());
+        assertFalse(limiter.acquire("key", QueueListener.NONE).isDone());
+
+        CompletableFuture<Void> rejected = limiter.acquire("key", QueueListener.NONE);
+        ExecutionException error = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RandomizerApiException.class, error.getCause());
+        assertThrows(RandomizerApiException.class, () -> limiter.acquireBlocking("key", QueueListener.NONE));
+    }
+
+    @Test
+    void keepsOneBucketPerApiKey() {
+        properties.setBurst(1);
+        properties.setRequestsPerMinute(1);
+        limiter = new RandomizerRateLimiter(properties);
+
+        assertTrue(limiter.acquire("first", QueueListener.NONE).isDone());
+        assertFalse(limiter.acquire("first", QueueListener.NONE).isDone());
+        assertTrue(limiter.acquire("second", QueueListener.NONE).isDone());
+    }
+
+    @Test
+    void pauseHoldsCallsUntilTheDelayIsOver() throws Exception {
+        properties.setBurst(5);
+        properties.setRequestsPerMinute(6000);
+        limiter = new RandomizerRateLimiter(properties);
+
+        limiter.pause("key", Duration.ofMillis(300));
+        long start = System.nanoTime();
+        CompletableFuture<Void> call = limiter.acquire("key", QueueListener.NONE);
+
+        assertFalse(call.isDone());
+        call.get(2, TimeUnit.SECONDS);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 250);
+    }
+
+    @Test
+    void disabledLimiterNeverWaits() {
+        properties.setEnabled(false);
+        properties.setBurst(1);
+        properties.setRequestsPerMinute(1);
+        limiter = new RandomizerRateLimiter(properties);
+
+        limiter.pause("key", Duration.ofMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.acquire("key", QueueListener.NONE).isDone());
+        }
+    }
+
+    @Test
+    void parsesRetryAfterHeaders() {
+        properties.setDefaultRetryAfter(Duration.ofSeconds(7));
+        limiter = new RandomizerRateLimiter(properties);
+
+        assertEquals(Duration.ofSeconds(30), limiter.parseRetryAfter(" 30 "));
+        assertEquals(Duration.ZERO, limiter.parseRetryAfter("-5"));
+        assertEquals(Duration.ofSeconds(7), limiter.parseRetryAfter(null));
+        assertEquals(Duration.ofSeconds(7), limiter.parseRetryAfter("soon"));
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        assertEquals(Duration.ZERO, limiter.parseRetryAfter(past));
+        String future = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(2));
+        Duration delay = limiter.parseRetryAfter(future);
+        assertTrue(delay.compareTo(Duration.ofSeconds(100)) > 0 && delay.compareTo(Duration.ofSeconds(120)) <= 0,
+                () -> "delay " + delay);
+    }
+}
@@ -0,0 +1,89 @@
+package fr.rawz06.rslfrancobot.api.randomizer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import fr.rawz06.rslfrancobot.config.RandomizerRetryProperties;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomizerRetryPolicyTest {
+
+    private final RandomizerRetryProperties properties = new RandomizerRetryProperties();
+    private final RandomizerRetryPolicy policy = new RandomizerRetryPolicy(properties);
+
+    @Test
+    void retriesGatewayErrorsOnly() {
+        assertTrue(policy.isRetryable(new HttpServerErrorException(HttpStatus.BAD_GATEWAY)));
+        assertTrue(policy.isRetryable(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+        assertFalse(policy.isRetryable(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR)));
+        assertFalse(policy.isRetryable(new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+        assertTrue(policy.isRetryableStatus(504));
+        assertFalse(policy.isRetryableStatus(500));
+    }
+
+    @Test
+    void retriesFailuresBeforeTheRequestIsWritten() {
+        assertTrue(policy.isRetryable(new ResourceAccessException("I/O error", new ConnectException("refused"))));
+        assertTrue(policy.isRetryable(new ResourceAccessException("I/O error", new ConnectTimeoutException("connect"))));
+        assertTrue(policy.isRetryable(new ConnectionRequestTimeoutException("no pooled connection")));
+    }
+
+    @Test
+    void doesNotRetryOnceTheSeedMayHaveBeenSent() {
+        // The server may still create the first seed
+        assertFalse(policy.isRetryable(new ResourceAccessException("I/O error", new SocketTimeoutException("read"))));
+        assertFalse(policy.isRetryable(new ResourceAccessException("I/O error", new SocketException("reset"))));
+        assertFalse(policy.isRetryable(new IllegalStateException("bug")));
+    }
+
+    @Test
+    void countsOnlyApiFailuresAsTransient() {
+        assertTrue(policy.isTransient(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR)));
+        assertTrue(policy.isTransient(new ResourceAccessException("I/O error", new SocketTimeoutException("read"))));
+        assertFalse(policy.isTransient(new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+        assertFalse(policy.isTransient(new RuntimeException(new JsonParseException(null, "bad json"))));
+        assertFalse(policy.isTransient(new IllegalStateException("bug")));
+        assertTrue(policy.isTransientStatus(503));
+        assertFalse(policy.isTransientStatus(429));
+    }
+
+    @Test
+    void backoffGrowsWithJitterUpToTheCap() {
+        properties.setInitialBackoff(Duration.ofMillis(100));
+        properties.setMultiplier(2.0);
+        properties.setMaxBackoff(Duration.ofMillis(300));
+
+        for (int i = 0; i < 100; i++) {
+            assertBetween(50, 100, policy.backoff(1));
+            assertBetween(100, 200, policy.backoff(2));
+            assertBetween(150, 300, policy.backoff(3));
+            assertBetween(150, 300, policy.backoff(10));
+        }
+    }
+
+    @Test
+    void alwaysMakesAtLeastOneAttempt() {
+        properties.setMaxAttempts(0);
+        assertEquals(1, policy.getMaxAttempts());
+        properties.setMaxAttempts(4);
+        assertEquals(4, policy.getMaxAttempts());
+    }
+
+    private static void assertBetween(long min, long max, Duration actual) {
+        assertTrue(actual.toMillis() >= min && actual.toMillis() <= max,
+                () -> actual.toMillis() + "ms is not between " + min + " and " + max);
+    }
+}
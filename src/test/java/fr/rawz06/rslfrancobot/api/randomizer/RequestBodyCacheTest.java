@@ -0,0 +1,68 @@
+package fr.rawz06.rslfrancobot.api.randomizer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsFile;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SettingsOverlay;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RequestBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RequestBodyCache cache = new RequestBodyCache(objectMapper);
+
+    private final Map<String, Object> presetSettings = SettingsOverlay.freeze(Map.of(
+            "world_count", 1,
+            "allowed_tricks", List.of("logic_fewer_tunic_requirements")));
+
+    @Test
+    void reusesBodyOfSameSettingsInstance() throws Exception {
+        byte[] first = cache.body(SeedMode.S9, new SettingsFile(presetSettings));
+        byte[] second = cache.body(SeedMode.S9, new SettingsFile(presetSettings));
+
+        assertSame(first, second);
+        assertEquals(presetSettings, objectMapper.readValue(first, Map.class));
+    }
+
+    @Test
+    void serializesAgainAfterReload() throws Exception {
+        byte[] before = cache.body(SeedMode.S9, new SettingsFile(presetSettings));
+
+        // A reloaded preset has equal settings but a new instance
+        Map<String, Object> reloaded = SettingsOverlay.freeze(presetSettings);
+        byte[] after = cache.body(SeedMode.S9, new SettingsFile(reloaded));
+
+        assertNotSame(before, after);
+        assertArrayEquals(before, after);
+        assertSame(after, cache.body(SeedMode.S9, new SettingsFile(reloaded)));
+    }
+
+    @Test
+    void keepsSeveralVariantsPerMode() throws Exception {
+        Map<String, Object> variant = SettingsOverlay.freeze(Map.of("world_count", 2));
+        byte[] first = cache.body(SeedMode.SALAD_RUPEES, new SettingsFile(presetSettings));
+        byte[] second = cache.body(SeedMode.SALAD_RUPEES, new SettingsFile(variant));
+
+        assertSame(first, cache.body(SeedMode.SALAD_RUPEES, new SettingsFile(presetSettings)));
+        assertSame(second, cache.body(SeedMode.SALAD_RUPEES, new SettingsFile(variant)));
+    }
+
+    @Test
+    void serializesUserSettingsEveryTime() throws Exception {
+        SettingsFile settings = new SettingsFile(presetSettings);
+
+        byte[] first = cache.body(SeedMode.FRANCO, settings);
+        byte[] second = cache.body(SeedMode.FRANCO, settings);
+
+        assertNotSame(first, second);
+        assertArrayEquals(first, second);
+    }
+}
@@ -0,0 +1,136 @@
+package fr.rawz06.rslfrancobot.bot.services;
+
+import fr.rawz06.rslfrancobot.config.SeedPoolProperties;
+import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SeedMode;
+import fr.rawz06.rslfrancobot.engine.domain.entities.SeedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeedPoolTest {
+
+    private final SeedPoolProperties properties = new SeedPoolProperties();
+    private final AtomicInteger generations = new AtomicInteger();
+    private final AtomicReference<Preset> preset = new AtomicReference<>(new Preset("s9", Map.of(), List.of()));
+    private SeedPool pool;
+
+    private final Function<SeedMode, CompletableFuture<SeedResult>> working = mode -> CompletableFuture.completedFuture(
+            new SeedResult("https://ootrandomizer.com/seed/get?id=" + generations.incrementAndGet(), "8.3", false, null));
+
+    private final Function<SeedMode, CompletableFuture<SeedResult>> broken = mode -> {
+        generations.incrementAndGet();
+        return CompletableFuture.failedFuture(new IllegalStateException("version removed"));
+    };
+
+    @AfterEach
+    void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void servesPreGeneratedSeedsAndRefills() throws Exception {
+        start(working);
+        awaitGenerations(2);
+
+        assertEquals(Optional.of("https://ootrandomizer.com/seed/get?id=1"), take(SeedMode.S9));
+        awaitGenerations(3);
+        assertEquals(Optional.of("https://ootrandomizer.com/seed/get?id=2"), take(SeedMode.S9));
+        awaitGenerations(4);
+        assertEquals(Optional.of("https://ootrandomizer.com/seed/get?id=3"), take(SeedMode.S9));
+    }
+
+    @Test
+    void ignoresModesThatAreNotPooled() throws Exception {
+        start(working);
+        awaitGenerations(2);
+
+        assertFalse(pool.isPooled(SeedMode.FRANCO));
+        assertEquals(Optional.empty(), take(SeedMode.FRANCO));
+        properties.setEnabled(false);
+        assertEquals(Optional.empty(), take(SeedMode.S9));
+    }
+
+    @Test
+    void dropsSeedsOfAReloadedPreset() throws Exception {
+        start(working);
+        awaitGenerations(2);
+
+        preset.set(new Preset("s9", Map.of(), List.of()));
+        assertEquals(Optional.empty(), take(SeedMode.S9));
+        // Both seeds are generated again from the new preset
+        awaitGenerations(4);
+        assertEquals(Optional.of("https://ootrandomizer.com/seed/get?id=3"), take(SeedMode.S9));
+    }
+
+    @Test
+    void dropsExpiredSeeds() throws Exception {
+        properties.setTtl(Duration.ofMillis(50));
+        start(working);
+        awaitGenerations(2);
+
+        Thread.sleep(100);
+        assertEquals(Optional.empty(), take(SeedMode.S9));
+    }
+
+    @Test
+    void triesABrokenModeOncePerRefresh() throws Exception {
+        properties.setDepth(3);
+        start(broken);
+        awaitGenerations(1);
+
+        Thread.sleep(200);
+        assertEquals(1, generations.get(), "other queued generations of the mode are dropped");
+        assertEquals(Optional.empty(), take(SeedMode.S9));
+        Thread.sleep(200);
+        assertEquals(1, generations.get(), "taking a seed does not retry the mode before the next refresh");
+    }
+
+    @Test
+    void retriesABrokenModeAtTheNextRefresh() throws Exception {
+        properties.setRefreshInterval(Duration.ofMillis(300));
+        AtomicReference<Function<SeedMode, CompletableFuture<SeedResult>>> generator = new AtomicReference<>(broken);
+        start(mode -> generator.get().apply(mode));
+        awaitGenerations(1);
+
+        generator.set(working);
+        awaitGenerations(3);
+        assertTrue(take(SeedMode.S9).isPresent());
+    }
+
+    private void start(Function<SeedMode, CompletableFuture<SeedResult>> generator) {
+        properties.setEnabled(true);
+        properties.setModes(EnumSet.of(SeedMode.S9));
+        pool = new SeedPool(properties);
+        pool.start(generator, mode -> preset.get());
+    }
+
+    private Optional<String> take(SeedMode mode) {
+        return pool.take(mode).map(SeedResult::seedUrl);
+    }
+
+    private void awaitGenerations(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (generations.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, generations.get(), "generations");
+        // The generator has been called, let its result reach the pool
+        Thread.sleep(50);
+    }
+}
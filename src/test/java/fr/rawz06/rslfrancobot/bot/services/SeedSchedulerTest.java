@@ -0,0 +1,193 @@
+package fr.rawz06.rslfrancobot.bot.services;
+
+import fr.rawz06.rslfrancobot.config.SeedSchedulerProperties;
+import fr.rawz06.rslfrancobot.engine.domain.ports.QueueListener;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeedSchedulerTest {
+
+    private final SeedSchedulerProperties properties = new SeedSchedulerProperties();
+
+    @Test
+    void capsGenerationsPerUser() throws Exception {
+        properties.setMaxPerUser(1);
+        SeedScheduler scheduler = new SeedScheduler(properties);
+
+        SeedScheduler.Slot first = scheduler.acquire("alice", "guild", QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> second = scheduler.acquireAsync("alice", "guild", QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> other = scheduler.acquireAsync("bob", "guild", QueueListener.NONE);
+
+        assertFalse(second.isDone());
+        assertTrue(other.isDone());
+        first.close();
+        second.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void capsGenerationsPerGuild() throws Exception {
+        properties.setMaxPerGuild(1);
+        SeedScheduler scheduler = new SeedScheduler(properties);
+
+        SeedScheduler.Slot first = scheduler.acquire("alice", "guild", QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> sameGuild = scheduler.acquireAsync("bob", "guild", QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> otherGuild = scheduler.acquireAsync("carol", "other", QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> noGuild = scheduler.acquireAsync("dave", null, QueueListener.NONE);
+
+        assertFalse(sameGuild.isDone());
+        assertTrue(otherGuild.isDone());
+        assertTrue(noGuild.isDone());
+        first.close();
+        sameGuild.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void servesWaitingUsersInTurn() throws Exception {
+        properties.setMaxConcurrent(1);
+        SeedScheduler scheduler = new SeedScheduler(properties);
+        List<Integer> bobPositions = new CopyOnWriteArrayList<>();
+
+        SeedScheduler.Slot running = scheduler.acquire("carol", null, QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> alice1 = scheduler.acquireAsync("alice", null, QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> alice2 = scheduler.acquireAsync("alice", null, QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> alice3 = scheduler.acquireAsync("alice", null, QueueListener.NONE);
+        CompletableFuture<SeedScheduler.Slot> bob = scheduler.acquireAsync("bob", null,
+                (queue, position) -> bobPositions.add(position));
+
+        // Bob comes right after Alice's first seed, not after all three
+        assertEquals(List.of(2), bobPositions);
+        assertEquals(4, scheduler.stats().queueDepth());
+
+        running.close();
+        SeedScheduler.Slot slot = alice1.get(1, TimeUnit.SECONDS);
+        assertFalse(bob.isDone());
+        // Positions are sent once the scheduler lock is released
+        await(() -> bobPositions.size() == 2);
+        assertEquals(List.of(2, 1), bobPositions);
+
+        slot.close();
+        slot = bob.get(1, TimeUnit.SECONDS);
+        assertFalse(alice2.isDone());
+
+        slot.close();
+        slot = alice2.get(1, TimeUnit.SECONDS);
+        assertFalse(alice3.isDone());
+
+        slot.close();
+        alice3.get(1, TimeUnit.SECONDS).close();
+        assertEquals(0, scheduler.stats().running());
+    }
+
+    @Test
+    void rejectsUsersWithTooManyWaitingSeeds() throws Exception {
+        properties.setMaxPerUser(1);
+        properties.setMaxQueuedPerUser(1);
+        SeedScheduler scheduler = new SeedScheduler(properties);
+
+        scheduler.acquire("alice", null, QueueListener.NONE);
+        assertFalse(scheduler.acquireAsync("alice", null, QueueListener.NONE).isDone());
+
+        CompletableFuture<SeedScheduler.Slot> rejected = scheduler.acquireAsync("alice", null, QueueListener.NONE);
+        ExecutionException error = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(SeedScheduler.SchedulingException.class, error.getCause());
+        assertThrows(SeedScheduler.SchedulingException.class, () -> scheduler.acquire("alice", null, QueueListener.NONE));
+        assertEquals(2, scheduler.stats().rejected());
+    }
+
+    @Test
+    void givesUpAfterTheMaximumWait() throws Exception {
+        properties.setMaxPerUser(1);
+        properties.setMaxWait(Duration.ofMillis(100));
+        SeedScheduler scheduler = new SeedScheduler(properties);
+        scheduler.acquire("alice", null, QueueListener.NONE);
+
+        CompletableFuture<SeedScheduler.Slot> waiting = scheduler.acquireAsync("alice", null, QueueListener.NONE);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> waiting.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(SeedScheduler.SchedulingException.class, error.getCause());
+        assertThrows(SeedScheduler.SchedulingException.class, () -> scheduler.acquire("alice", null, QueueListener.NONE));
+        assertEquals(0, scheduler.stats().queueDepth());
+        assertEquals(1, scheduler.stats().running());
+    }
+
+    @Test
+    void grantedSeedIsNotTimedOutLater() throws Exception {
+        properties.setMaxPerUser(1);
+        properties.setMaxWait(Duration.ofMillis(100));
+        SeedScheduler scheduler = new SeedScheduler(properties);
+        SeedScheduler.Slot running = scheduler.acquire("alice", null, QueueListener.NONE);
+
+        CompletableFuture<SeedScheduler.Slot> waiting = scheduler.acquireAsync("alice", null, QueueListener.NONE);
+        running.close();
+        SeedScheduler.Slot slot = waiting.get(1, TimeUnit.SECONDS);
+        Thread.sleep(200);
+
+        assertEquals(1, scheduler.stats().running());
+        assertEquals(0, scheduler.stats().rejected());
+        slot.close();
+    }
+
+    @Test
+    void blockingCallerWaitsForItsTurn() throws Exception {
+        properties.setMaxPerUser(1);
+        SeedScheduler scheduler = new SeedScheduler(properties);
+        SeedScheduler.Slot running = scheduler.acquire("alice", null, QueueListener.NONE);
+
+        CompletableFuture<SeedScheduler.Slot> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return scheduler.acquire("alice", null, QueueListener.NONE);
+            } catch (SeedScheduler.SchedulingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        await(() -> scheduler.stats().queueDepth() == 1);
+
+        assertFalse(waiting.isDone());
+        running.close();
+        waiting.get(1, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void closingASlotTwiceReleasesItOnce() throws Exception {
+        SeedScheduler scheduler = new SeedScheduler(properties);
+        SeedScheduler.Slot first = scheduler.acquire("alice", null, QueueListener.NONE);
+        scheduler.acquire("bob", null, QueueListener.NONE);
+
+        first.close();
+        first.close();
+
+        assertEquals(1, scheduler.stats().running());
+    }
+
+    @Test
+    void disabledSchedulerNeverWaits() throws Exception {
+        properties.setEnabled(false);
+        properties.setMaxConcurrent(1);
+        SeedScheduler scheduler = new SeedScheduler(properties);
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.acquire("alice", null, QueueListener.NONE);
+            assertTrue(scheduler.acquireAsync("alice", null, QueueListener.NONE).isDone());
+        }
+        assertEquals(0, scheduler.stats().running());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package fr.rawz06.rslfrancobot.engine.domain.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptionCompatibilityTest {
+
+    @Test
+    void indexesOptionsInDeclarationOrder() {
+        OptionCompatibility compatibility = OptionCompatibility.compile(List.of(option("a"), option("b")));
+
+        assertEquals(2, compatibility.size());
+        assertEquals(0, compatibility.indexOf("a"));
+        assertEquals(1, compatibility.indexOf("b"));
+        assertEquals(-1, compatibility.indexOf("c"));
+        assertEquals("b", compatibility.option(1).id());
+    }
+
+    @Test
+    void keepsDeclaredConflictsAndSymmetricExclusions() {
+        OptionCompatibility compatibility = OptionCompatibility.compile(List.of(
+                option("a", "b", "unknown"), option("b"), option("c")));
+        long[] selection = compatibility.newSelection();
+        OptionCompatibility.set(selection, 0);
+
+        // a declares b: b is excluded by a, but only a reports the conflict
+        assertTrue(compatibility.excludes(0, 1));
+        assertTrue(compatibility.excludes(1, 0));
+        assertFalse(compatibility.excludes(0, 2));
+        assertTrue(compatibility.excludesAny(1, selection));
+        assertFalse(compatibility.conflictsWith(1, selection));
+        assertFalse(compatibility.excludesAny(2, selection));
+
+        OptionCompatibility.set(selection, 1);
+        assertTrue(compatibility.conflictsWith(0, selection));
+    }
+
+    @Test
+    void handlesSelectionsOverSeveralWords() {
+        List<Preset.PresetOption> options = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            options.add(i == 3 ? option("o3", "o128") : option("o" + i));
+        }
+        OptionCompatibility compatibility = OptionCompatibility.compile(options);
+        long[] selection = compatibility.newSelection();
+
+        assertEquals(3, selection.length);
+        OptionCompatibility.set(selection, 128);
+        assertTrue(OptionCompatibility.isSet(selection, 128));
+        assertFalse(OptionCompatibility.isSet(selection, 64));
+        assertTrue(compatibility.conflictsWith(3, selection));
+        assertTrue(compatibility.excludesAny(3, selection));
+        assertFalse(compatibility.excludesAny(64, selection));
+    }
+
+    private static Preset.PresetOption option(String id, String... incompatibleWith) {
+        return new Preset.PresetOption(id, id, null, Map.of(), List.of(incompatibleWith));
+    }
+}
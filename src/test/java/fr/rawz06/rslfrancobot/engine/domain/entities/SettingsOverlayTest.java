@@ -0,0 +1,137 @@
+package fr.rawz06.rslfrancobot.engine.domain.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SettingsOverlayTest {
+
+    private final Map<String, Object> base = SettingsOverlay.freeze(orderedMap(
+            "first", 1,
+            "second", "two",
+            "third", List.of("a", "b")));
+
+    @Test
+    void readsThroughToBase() {
+        SettingsOverlay overlay = new SettingsOverlay(base);
+
+        assertEquals(3, overlay.size());
+        assertEquals("two", overlay.get("second"));
+        assertTrue(overlay.containsKey("third"));
+        assertEquals(base, overlay);
+    }
+
+    @Test
+    void putOverridesWithoutTouchingBase() {
+        SettingsOverlay overlay = new SettingsOverlay(base);
+
+        assertEquals("two", overlay.put("second", 2));
+        assertNull(overlay.put("fourth", true));
+
+        assertEquals(2, overlay.get("second"));
+        assertEquals(true, overlay.get("fourth"));
+        assertEquals(4, overlay.size());
+        assertEquals("two", base.get("second"));
+        assertEquals(3, base.size());
+    }
+
+    @Test
+    void putOfNullIsAValue() {
+        SettingsOverlay overlay = new SettingsOverlay(base);
+
+        overlay.put("first", null);
+        overlay.put("fourth", null);
+
+        assertTrue(overlay.containsKey("first"));
+        assertTrue(overlay.containsKey("fourth"));
+        assertNull(overlay.get("first"));
+        assertEquals(4, overlay.size());
+    }
+
+    @Test
+    void removeHidesBaseEntries() {
+        SettingsOverlay overlay = new SettingsOverlay(base);
+
+        assertEquals(1, overlay.remove("first"));
+        assertNull(overlay.remove("first"));
+        assertNull(overlay.remove("missing"));
+
+        assertFalse(overlay.containsKey("first"));
+        assertNull(overlay.get("first"));
+        assertEquals(2, overlay.size());
+        assertTrue(base.containsKey("first"));
+
+        overlay.put("first", 10);
+        assertEquals(10, overlay.get("first"));
+        assertEquals(3, overlay.size());
+    }
+
+    @Test
+    void removeDropsAddedEntries() {
+        SettingsOverlay overlay = new SettingsOverlay(base);
+        overlay.put("fourth", 4);
+
+        assertEquals(4, overlay.remove("fourth"));
+
+        assertFalse(overlay.containsKey("fourth"));
+        assertEquals(3, overlay.size());
+        assertEquals(base, overlay);
+    }
+
+    @Test
+    void iteratesBaseOrderThenAddedEntries() {
+        SettingsOverlay overlay = new SettingsOverlay(base);
+        overlay.put("fourth", 4);
+        overlay.put("second", 2);
+        overlay.remove("third");
+
+        List<String> keys = new ArrayList<>(overlay.keySet());
+        assertEquals(List.of("first", "second", "fourth"), keys);
+        assertEquals(3, overlay.entrySet().size());
+
+        Map<String, Object> expected = new HashMap<>(Map.of("first", 1, "second", 2, "fourth", 4));
+        assertEquals(expected, overlay);
+        assertEquals(expected, new HashMap<>(overlay));
+        assertEquals(expected.hashCode(), overlay.hashCode());
+    }
+
+    @Test
+    void freezeMakesNestedValuesReadOnly() {
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("list", new ArrayList<>(List.of(1, 2)));
+        nested.put("empty", null);
+        Map<String, Object> frozen = SettingsOverlay.freeze(Map.of("nested", nested));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> frozenNested = (Map<String, Object>) frozen.get("nested");
+        @SuppressWarnings("unchecked")
+        List<Object> frozenList = (List<Object>) frozenNested.get("list");
+
+        assertTrue(frozenNested.containsKey("empty"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put("other", 1));
+        assertThrows(UnsupportedOperationException.class, () -> frozenNested.remove("list"));
+        assertThrows(UnsupportedOperationException.class, () -> frozenList.add(3));
+
+        // Later changes to the source do not leak into the frozen copy
+        nested.put("added", true);
+        assertFalse(frozenNested.containsKey("added"));
+    }
+
+    private static Map<String, Object> orderedMap(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
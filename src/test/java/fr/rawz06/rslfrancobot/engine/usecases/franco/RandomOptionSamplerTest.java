@@ -0,0 +1,145 @@
+package fr.rawz06.rslfrancobot.engine.usecases.franco;
+
+import fr.rawz06.rslfrancobot.engine.domain.entities.OptionCompatibility;
+import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomOptionSamplerTest {
+
+    // a - b - c is a chain of conflicts, d and e are free
+    private static final OptionCompatibility CHAIN = OptionCompatibility.compile(List.of(
+            option("a", "b"), option("b", "c"), option("c"), option("d"), option("e")));
+
+    // Two separate conflicts (declared on one side only) and a free option
+    private static final OptionCompatibility PAIRS = OptionCompatibility.compile(List.of(
+            option("a", "b"), option("b"), option("c"), option("d", "c"), option("e")));
+
+    @Test
+    void drawsEveryCompatibleSetEquallyOften() {
+        assertUniform(CHAIN, 3);
+        assertUniform(CHAIN, 2);
+    }
+
+    @Test
+    void drawsUniformlyAcrossSeveralComponents() {
+        assertUniform(PAIRS, 2);
+        assertUniform(PAIRS, 3);
+    }
+
+    @Test
+    void sameSeedGivesSameSelections() {
+        RandomOptionSampler sampler = RandomOptionSampler.compile("chain", CHAIN);
+        SplittableRandom first = new SplittableRandom(1234);
+        SplittableRandom second = new SplittableRandom(1234);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(sampler.sample(3, first), sampler.sample(3, second));
+        }
+    }
+
+    @Test
+    void returnsLargestCompatibleSetWhenMoreOptionsAreRequested() {
+        RandomOptionSampler sampler = RandomOptionSampler.compile("chain", CHAIN);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 20; i++) {
+            // {a, c, d, e} is the only compatible set of 4 options
+            assertEquals(Set.of(0, 2, 3, 4), Set.copyOf(sampler.sample(10, random)));
+        }
+    }
+
+    @Test
+    void keepsOtherComponentsExactNextToAnOversizedOne() {
+        // A 30-option chain, too large to enumerate, next to the a - b - c chain
+        List<Preset.PresetOption> options = new ArrayList<>(List.of(option("a", "b"), option("b", "c"), option("c")));
+        for (int i = 0; i < 30; i++) {
+            options.add(i < 29 ? option("l" + i, "l" + (i + 1)) : option("l" + i));
+        }
+        OptionCompatibility compatibility = OptionCompatibility.compile(options);
+        RandomOptionSampler sampler = RandomOptionSampler.compile("large", compatibility);
+        SplittableRandom random = new SplittableRandom(5);
+
+        Map<Set<Integer>, Integer> small = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            List<Integer> selection = sampler.sample(6, random);
+            assertEquals(6, selection.size(), "selection size");
+            assertTrue(selection.stream().noneMatch(a -> selection.stream().anyMatch(b -> compatibility.excludes(a, b))),
+                    () -> "incompatible selection " + selection);
+            Set<Integer> fromSmall = new TreeSet<>(selection);
+            fromSmall.retainAll(Set.of(0, 1, 2));
+            if (fromSmall.size() == 1) {
+                small.merge(fromSmall, 1, Integer::sum);
+            }
+        }
+
+        // One option of a - b - c: each of them equally often
+        assertEquals(Set.of(Set.of(0), Set.of(1), Set.of(2)), small.keySet());
+        int total = small.values().stream().mapToInt(Integer::intValue).sum();
+        for (Map.Entry<Set<Integer>, Integer> draw : small.entrySet()) {
+            assertTrue(Math.abs(draw.getValue() - total / 3.0) < total * 0.05,
+                    () -> draw.getKey() + " drawn " + draw.getValue() + " times out of " + total);
+        }
+
+        // As many options as possible: the largest set of a - b - c
+        Set<Integer> largest = new TreeSet<>(sampler.sample(100, random));
+        largest.retainAll(Set.of(0, 1, 2));
+        assertEquals(Set.of(0, 2), largest);
+    }
+
+    private static void assertUniform(OptionCompatibility compatibility, int count) {
+        List<Set<Integer>> expected = compatibleSets(compatibility, count);
+        RandomOptionSampler sampler = RandomOptionSampler.compile("test", compatibility);
+        SplittableRandom random = new SplittableRandom(42);
+        int rounds = 10_000 * expected.size();
+
+        Map<Set<Integer>, Integer> draws = new HashMap<>();
+        for (int i = 0; i < rounds; i++) {
+            List<Integer> selection = sampler.sample(count, random);
+            assertEquals(count, selection.size(), "selection size");
+            draws.merge(new TreeSet<>(selection), 1, Integer::sum);
+        }
+
+        assertEquals(Set.copyOf(expected), draws.keySet(), "drawn sets");
+        for (Map.Entry<Set<Integer>, Integer> draw : draws.entrySet()) {
+            // 10 000 draws expected per set, the standard deviation is below 100
+            assertTrue(Math.abs(draw.getValue() - 10_000) < 500,
+                    () -> draw.getKey() + " drawn " + draw.getValue() + " times out of " + rounds);
+        }
+    }
+
+    /**
+     * Every compatible set of the given size, by brute force.
+     */
+    private static List<Set<Integer>> compatibleSets(OptionCompatibility compatibility, int count) {
+        List<Set<Integer>> sets = new ArrayList<>();
+        for (int mask = 0; mask < 1 << compatibility.size(); mask++) {
+            if (Integer.bitCount(mask) != count) {
+                continue;
+            }
+            Set<Integer> set = new TreeSet<>();
+            for (int i = 0; i < compatibility.size(); i++) {
+                if ((mask & (1 << i)) != 0) {
+                    set.add(i);
+                }
+            }
+            boolean compatible = set.stream().noneMatch(a -> set.stream().anyMatch(b -> compatibility.excludes(a, b)));
+            if (compatible) {
+                sets.add(set);
+            }
+        }
+        return sets;
+    }
+
+    private static Preset.PresetOption option(String id, String... incompatibleWith) {
+        return new Preset.PresetOption(id, id, null, Map.of(), List.of(incompatibleWith));
+    }
+}
@@ -0,0 +1,113 @@
+package fr.rawz06.rslfrancobot.engine.usecases.franco;
+
+import fr.rawz06.rslfrancobot.engine.domain.entities.Preset;
+import fr.rawz06.rslfrancobot.engine.domain.entities.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidateSettingsUseCaseTest {
+
+    private final ValidateSettingsUseCase useCase = new ValidateSettingsUseCase();
+
+    private final Preset preset = new Preset("test", Map.of(), List.of(
+            new Preset.PresetOption("a", "Option A", null, Map.of(), List.of("c", "b")),
+            new Preset.PresetOption("b", "Option B", null, Map.of(), List.of()),
+            new Preset.PresetOption("c", "Option C", null, Map.of(), List.of("a", "unknown")),
+            new Preset.PresetOption("d", "Option D", null, Map.of(), List.of("b"))));
+
+    @Test
+    void acceptsNoSelection() {
+        assertTrue(useCase.execute(preset, List.of()).isValid());
+        assertTrue(useCase.execute(preset, null).isValid());
+    }
+
+    @Test
+    void acceptsCompatibleOptions() {
+        assertTrue(useCase.execute(preset, List.of("b", "c")).isValid());
+    }
+
+    @Test
+    void reportsUnknownOptions() {
+        ValidationResult result = useCase.execute(preset, List.of("x", "a", "y"));
+
+        assertFalse(result.isValid());
+        assertEquals(List.of("Unknown option: x", "Unknown option: y"), result.getErrors());
+    }
+
+    @Test
+    void reportsIncompatibilitiesInDeclaredOrder() {
+        ValidationResult result = useCase.execute(preset, List.of("a", "b", "c", "d"));
+
+        assertFalse(result.isValid());
+        assertEquals(List.of(
+                "Incompatibility detected: 'Option A' is not compatible with 'Option C'",
+                "Incompatibility detected: 'Option A' is not compatible with 'Option B'",
+                "Incompatibility detected: 'Option C' is not compatible with 'Option A'",
+                "Incompatibility detected: 'Option D' is not compatible with 'Option B'"), result.getErrors());
+    }
+
+    @Test
+    void reportsSameErrorsAsOptionByOptionCheck() {
+        // More than 64 options, so the selections span several bitmask words
+        SplittableRandom random = new SplittableRandom(3);
+        List<Preset.PresetOption> options = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            List<String> incompatibleWith = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                incompatibleWith.add("o" + random.nextInt(100));
+            }
+            options.add(new Preset.PresetOption("o" + i, "Option " + i, null, Map.of(), incompatibleWith));
+        }
+        Preset large = new Preset("large", Map.of(), options);
+
+        for (int round = 0; round < 500; round++) {
+            List<String> selection = new ArrayList<>();
+            int size = 1 + random.nextInt(12);
+            for (int i = 0; i < size; i++) {
+                selection.add("o" + random.nextInt(round % 10 == 0 ? 110 : 100));
+            }
+            assertEquals(referenceErrors(large, selection), useCase.execute(large, selection).getErrors(),
+                    () -> "selection " + selection);
+        }
+    }
+
+    /**
+     * The validation as it was written before the bitmasks, one option at a time.
+     */
+    private static List<String> referenceErrors(Preset preset, List<String> selectedOptionIds) {
+        Map<String, Preset.PresetOption> optionsMap = preset.availableOptions().stream()
+                .collect(Collectors.toMap(Preset.PresetOption::id, Function.identity()));
+        List<String> errors = new ArrayList<>();
+        for (String selectedId : selectedOptionIds) {
+            if (!optionsMap.containsKey(selectedId)) {
+                errors.add("Unknown option: " + selectedId);
+            }
+        }
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+
+        Set<String> selectedSet = Set.copyOf(selectedOptionIds);
+        for (String selectedId : selectedOptionIds) {
+            Preset.PresetOption option = optionsMap.get(selectedId);
+            for (String incompatibleId : option.incompatibleWith()) {
+                if (selectedSet.contains(incompatibleId)) {
+                    errors.add(String.format("Incompatibility detected: '%s' is not compatible with '%s'",
+                            option.label(), optionsMap.get(incompatibleId).label()));
+                }
+            }
+        }
+        return errors;
+    }
+}